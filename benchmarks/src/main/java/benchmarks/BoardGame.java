@@ -0,0 +1,89 @@
+package benchmarks;
+
+import exe.ex3.game.GhostCL;
+import exe.ex3.game.PacmanGame;
+
+import java.util.Random;
+
+/**
+ * Minimal PacmanGame over an arbitrary board, so Ex3Algo can be benchmarked on generated mazes.
+ *
+ * move(dir) moves Pac-Man one cell (eating the pellet) and every ghost one random step.
+ * Ghosts are always dangerous. Nothing is rendered and nothing sleeps.
+ */
+final class BoardGame implements PacmanGame {
+
+    private final int[][] board;
+    private final boolean cyclic;
+    private final Random rnd = new Random(7);
+    private int pacX, pacY;
+    private final int[] gx, gy;
+    private final GhostCL[] ghosts;
+
+    BoardGame(int[][] board, boolean cyclic, int ghostCount) {
+        this.board = board;
+        this.cyclic = cyclic;
+        int[] pac = Mazes.corner(board, false);
+        pacX = pac[0];
+        pacY = pac[1];
+        int[] far = Mazes.corner(board, true);
+        gx = new int[ghostCount];
+        gy = new int[ghostCount];
+        ghosts = new GhostCL[ghostCount];
+        for (int i = 0; i < ghostCount; i++) {
+            gx[i] = far[0];
+            gy[i] = far[1];
+            ghosts[i] = new Ghost(i);
+        }
+    }
+
+    @Override
+    public String move(int dir) {
+        int[] p = step(pacX, pacY, dir);
+        if (p != null) {
+            pacX = p[0];
+            pacY = p[1];
+            board[pacX][pacY] = 0;
+        }
+        for (int i = 0; i < gx.length; i++) {
+            int[] g = step(gx[i], gy[i], 1 + rnd.nextInt(4));
+            if (g != null) { gx[i] = g[0]; gy[i] = g[1]; }
+        }
+        return null;
+    }
+
+    /** @return the cell one step from (x,y) in dir, or null if it is a wall or outside. */
+    private int[] step(int x, int y, int dir) {
+        int w = board.length, h = board[0].length;
+        if (dir == UP) y++;
+        else if (dir == DOWN) y--;
+        else if (dir == LEFT) x--;
+        else if (dir == RIGHT) x++;
+        if (cyclic) { x = (x + w) % w; y = (y + h) % h; }
+        if (x < 0 || y < 0 || x >= w || y >= h || board[x][y] == Mazes.BLUE) return null;
+        return new int[]{x, y};
+    }
+
+    @Override public String init(int level, String mapStr, boolean cyclic, long seed, double ghostSpeed, int dt, int something) { return "OK"; }
+    @Override public void play() { }
+    @Override public String end(int code) { return "DONE"; }
+    @Override public String getData(int code) { return ""; }
+    @Override public int[][] getGame(int code) { return board; }
+    @Override public String getPos(int code) { return pacX + "," + pacY; }
+    @Override public GhostCL[] getGhosts(int code) { return ghosts; }
+    @Override public int getStatus() { return PLAY; }
+    @Override public boolean isCyclic() { return cyclic; }
+    @Override public Character getKeyChar() { return null; }
+
+    private final class Ghost implements GhostCL {
+        private final int i;
+
+        Ghost(int i) { this.i = i; }
+
+        @Override public int getType() { return RANDOM_WALK1; }
+        @Override public String getPos(int code) { return gx[i] + "," + gy[i]; }
+        @Override public String getInfo() { return "BenchGhost"; }
+        @Override public double remainTimeAsEatable(int code) { return -1.0; }
+        @Override public int getStatus() { return PLAY; }
+    }
+}
@@ -0,0 +1,47 @@
+package benchmarks;
+
+import assignments.Ex3Algo;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one Ex3Algo decision (move) while the game advances.
+ *
+ * Each invocation asks the algorithm for a direction and applies it to a BoardGame,
+ * so the danger field, safe-space flood and pellet search see a changing state.
+ * The game is rebuilt every iteration to keep pellets on the board.
+ *
+ * Note: Ex3Algo reads GameInfo.CYCLIC_MODE for its own map; the cyclic parameter
+ * only changes how the board game moves Pac-Man and the ghosts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Ex3AlgoBenchmark {
+
+    @Param({"default", "64", "256", "1024"})
+    public String size;
+
+    @Param({"true", "false"})
+    public boolean cyclic;
+
+    private BoardGame game;
+    private Ex3Algo algo;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        game = new BoardGame(Mazes.board(size), cyclic, 3);
+        algo = new Ex3Algo();
+    }
+
+    @Benchmark
+    public int move() {
+        int dir = algo.move(game);
+        game.move(dir);
+        return dir;
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import assignments.Components;
+import assignments.Index2D;
+import assignments.Map;
+import assignments.Pixel2D;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map.fill and Map.labelComponents on large maps, sequential versus parallel tiles.
+ *
+ * The mode is selected through the parallel threshold. fill alternates between two colors,
+ * so every invocation recolors the whole component of the corner cell.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FillBenchmark {
+
+    @Param({"maze", "open"})
+    public String kind;
+
+    @Param({"1024", "2048", "4096"})
+    public int size;
+
+    @Param({"sequential", "tiles"})
+    public String mode;
+
+    @Param({"true", "false"})
+    public boolean cyclic;
+
+    private Map map;
+    private Pixel2D from;
+    private int fillColor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int[][] board = "open".equals(kind) ? Mazes.open(size, size, 42L) : Mazes.generate(size, size, 42L);
+        map = new Map(board);
+        map.setCyclic(cyclic);
+        map.setParallelThreshold("tiles".equals(mode) ? 0 : Integer.MAX_VALUE);
+        int[] a = Mazes.corner(board, false);
+        from = new Index2D(a[0], a[1]);
+        fillColor = map.getPixel(from);
+    }
+
+    @Benchmark
+    public int fill() {
+        fillColor = (fillColor == Mazes.PINK) ? Mazes.GREEN : Mazes.PINK;
+        return map.fill(from, fillColor);
+    }
+
+    @Benchmark
+    public Components labelComponents() {
+        return map.labelComponents(Mazes.BLUE);
+    }
+}
@@ -0,0 +1,67 @@
+package benchmarks;
+
+import assignments.Index2D;
+import assignments.Map;
+import assignments.Map2D;
+import assignments.Pixel2D;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map search primitives on the default maze and on generated mazes.
+ *
+ * allDistance returns a new Map per call; allDistanceView is the allocation-free variant
+ * Ex3Algo uses. shortestPath runs between two far corners. fill alternates between two
+ * colors, so every invocation recolors the whole corridor component.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+
+    @Param({"default", "64", "256", "1024"})
+    public String size;
+
+    @Param({"true", "false"})
+    public boolean cyclic;
+
+    private Map map;
+    private Pixel2D from, to;
+    private int fillColor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int[][] board = Mazes.board(size);
+        map = new Map(board);
+        map.setCyclic(cyclic);
+        int[] a = Mazes.corner(board, false), b = Mazes.corner(board, true);
+        from = new Index2D(a[0], a[1]);
+        to = new Index2D(b[0], b[1]);
+        fillColor = map.getPixel(from);
+    }
+
+    @Benchmark
+    public Map2D allDistance() {
+        return map.allDistance(from, Mazes.BLUE);
+    }
+
+    @Benchmark
+    public Map2D allDistanceView() {
+        return map.allDistanceView(from, Mazes.BLUE);
+    }
+
+    @Benchmark
+    public Pixel2D[] shortestPath() {
+        return map.shortestPath(from, to, Mazes.BLUE);
+    }
+
+    @Benchmark
+    public int fill() {
+        fillColor = (fillColor == Mazes.PINK) ? Mazes.GREEN : Mazes.PINK;
+        return map.fill(from, fillColor);
+    }
+}
@@ -0,0 +1,141 @@
+package benchmarks;
+
+import MyGame.server.LevelBuilder;
+import exe.ex3.game.Game;
+
+import java.awt.Color;
+import java.util.Random;
+
+/**
+ * Boards used by the benchmarks.
+ *
+ * "default" is the 19x15 LevelBuilder maze; a number n is an n*n generated maze:
+ * a randomized depth-first maze on the odd cells, with a few extra walls knocked out
+ * so it has loops like a real Pac-Man level. Every walkable cell holds a PINK pellet.
+ * Generation is seeded, so every run benchmarks the same boards.
+ */
+public final class Mazes {
+
+    public static final int BLUE  = Game.getIntColor(Color.BLUE, 0);
+    public static final int PINK  = Game.getIntColor(Color.PINK, 0);
+    public static final int GREEN = Game.getIntColor(Color.GREEN, 0);
+
+    private Mazes() { }
+
+    /**
+     * @param size "default" or the side length of a generated maze
+     * @return a fresh board, board[x][y]
+     */
+    public static int[][] board(String size) {
+        if ("default".equals(size)) return LevelBuilder.buildDefault(BLUE, PINK, GREEN).board;
+        int n = Integer.parseInt(size);
+        return generate(n, n, 42L);
+    }
+
+    /**
+     * @param w width (at least 3)
+     * @param h height (at least 3)
+     * @param seed generator seed
+     * @return a maze board with BLUE walls and PINK corridors
+     */
+    public static int[][] generate(int w, int h, long seed) {
+        int[][] b = new int[w][h];
+        for (int x = 0; x < w; x++) java.util.Arrays.fill(b[x], BLUE);
+
+        Random rnd = new Random(seed);
+        int cw = (w - 1) / 2, ch = (h - 1) / 2;
+        boolean[] seen = new boolean[cw * ch];
+        int[] stack = new int[cw * ch];
+        int top = 0;
+        stack[top++] = 0;
+        seen[0] = true;
+        b[1][1] = PINK;
+
+        int[] dx = {1, -1, 0, 0}, dy = {0, 0, 1, -1};
+        int[] order = {0, 1, 2, 3};
+        while (top > 0) {
+            int c = stack[top - 1];
+            int cx = c / ch, cy = c % ch;
+            for (int i = 3; i > 0; i--) {
+                int j = rnd.nextInt(i + 1);
+                int t = order[i]; order[i] = order[j]; order[j] = t;
+            }
+            boolean moved = false;
+            for (int k : order) {
+                int nx = cx + dx[k], ny = cy + dy[k];
+                if (nx < 0 || ny < 0 || nx >= cw || ny >= ch || seen[nx * ch + ny]) continue;
+                seen[nx * ch + ny] = true;
+                b[2 * cx + 1 + dx[k]][2 * cy + 1 + dy[k]] = PINK;
+                b[2 * nx + 1][2 * ny + 1] = PINK;
+                stack[top++] = nx * ch + ny;
+                moved = true;
+                break;
+            }
+            if (!moved) top--;
+        }
+
+        // Knock out ~10% of the inner walls between two corridors to create loops
+        for (int x = 1; x < w - 1; x++) {
+            for (int y = 1; y < h - 1; y++) {
+                if (b[x][y] != BLUE || rnd.nextInt(10) != 0) continue;
+                boolean horizontal = b[x - 1][y] != BLUE && b[x + 1][y] != BLUE;
+                boolean vertical = b[x][y - 1] != BLUE && b[x][y + 1] != BLUE;
+                if (horizontal || vertical) b[x][y] = PINK;
+            }
+        }
+        return b;
+    }
+
+    /**
+     * Open-area board: a grid of large rooms, with one door on every wall between two rooms
+     * and scattered pillars inside the rooms. Most cells are open, which is the worst case
+     * for a plain BFS path search.
+     *
+     * @param w    width (at least 3)
+     * @param h    height (at least 3)
+     * @param seed generator seed
+     * @return a board with BLUE walls and PINK floor
+     */
+    public static int[][] open(int w, int h, long seed) {
+        int[][] b = new int[w][h];
+        for (int x = 0; x < w; x++) java.util.Arrays.fill(b[x], PINK);
+
+        Random rnd = new Random(seed);
+        int room = Math.max(8, Math.min(w, h) / 4);
+        for (int x = room; x < w - 1; x += room) {
+            for (int y = 0; y < h; y++) b[x][y] = BLUE;
+        }
+        for (int y = room; y < h - 1; y += room) {
+            for (int x = 0; x < w; x++) b[x][y] = BLUE;
+        }
+        // One door per wall segment between two rooms (never on a wall crossing)
+        for (int x = room; x < w - 1; x += room) {
+            for (int y0 = 0; y0 < h; y0 += room) b[x][Math.min(h - 1, y0 + 1 + rnd.nextInt(room - 2))] = PINK;
+        }
+        for (int y = room; y < h - 1; y += room) {
+            for (int x0 = 0; x0 < w; x0 += room) b[Math.min(w - 1, x0 + 1 + rnd.nextInt(room - 2))][y] = PINK;
+        }
+        // Pillars, kept away from the walls so they never block a door
+        for (int i = 0; i < w * h / 50; i++) {
+            int x = rnd.nextInt(w), y = rnd.nextInt(h);
+            int rx = x % room, ry = y % room;
+            if (rx > 1 && rx < room - 1 && ry > 1 && ry < room - 1) b[x][y] = BLUE;
+        }
+        return b;
+    }
+
+    /**
+     * @param board board
+     * @param fromEnd false: first walkable cell in scan order, true: last one
+     * @return x,y of a walkable cell
+     */
+    public static int[] corner(int[][] board, boolean fromEnd) {
+        int w = board.length, h = board[0].length;
+        for (int i = 0; i < w * h; i++) {
+            int k = fromEnd ? w * h - 1 - i : i;
+            int x = k / h, y = k % h;
+            if (board[x][y] != BLUE) return new int[]{x, y};
+        }
+        throw new IllegalStateException("Board has no walkable cell");
+    }
+}
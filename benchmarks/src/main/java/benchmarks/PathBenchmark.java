@@ -0,0 +1,72 @@
+package benchmarks;
+
+import assignments.AStarPathEngine;
+import assignments.BidirectionalBfsPathEngine;
+import assignments.CorridorPathEngine;
+import assignments.Index2D;
+import assignments.JumpPointPathEngine;
+import assignments.Map;
+import assignments.PathEngine;
+import assignments.Pixel2D;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map.shortestPath between two far corners with each path engine.
+ *
+ * "maze" is the corridor-heavy generated maze of Mazes.generate; "open" is the room grid of
+ * Mazes.open, where a plain BFS expands almost every cell and Jump Point Search skips the
+ * straight runs. The corridor engine builds its junction graph once per trial (the walls never
+ * change), so the measured time is the Dijkstra search over junctions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBenchmark {
+
+    @Param({"maze", "open"})
+    public String kind;
+
+    @Param({"64", "256", "1024"})
+    public int size;
+
+    @Param({"bfs", "astar", "bidirectional", "jps", "corridor"})
+    public String engine;
+
+    @Param({"true", "false"})
+    public boolean cyclic;
+
+    private Map map;
+    private Pixel2D from, to;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int[][] board = "open".equals(kind) ? Mazes.open(size, size, 42L) : Mazes.generate(size, size, 42L);
+        map = new Map(board);
+        map.setCyclic(cyclic);
+        map.setPathEngine(engine(engine));
+        int[] a = Mazes.corner(board, false), b = Mazes.corner(board, true);
+        from = new Index2D(a[0], a[1]);
+        to = new Index2D(b[0], b[1]);
+    }
+
+    @Benchmark
+    public Pixel2D[] shortestPath() {
+        return map.shortestPath(from, to, Mazes.BLUE);
+    }
+
+    private static PathEngine engine(String name) {
+        switch (name) {
+            case "bfs":           return null;
+            case "astar":         return new AStarPathEngine();
+            case "bidirectional": return new BidirectionalBfsPathEngine();
+            case "jps":           return new JumpPointPathEngine();
+            case "corridor":      return new CorridorPathEngine();
+            default: throw new IllegalArgumentException("Unknown engine " + name);
+        }
+    }
+}
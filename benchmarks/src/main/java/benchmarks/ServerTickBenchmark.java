@@ -0,0 +1,40 @@
+package benchmarks;
+
+import MyGame.server.MyGameServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one MyGameServer.tick() (timers, ghost movement, collisions).
+ *
+ * The server only builds the default LevelBuilder maze, so there is no size parameter.
+ * A finished game is restarted before the next tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerTickBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cyclic;
+
+    private MyGameServer server;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = new MyGameServer();
+        server.initDefaultLevel();
+        if (server.isCyclic() != cyclic) server.toggleCyclic();
+    }
+
+    @Benchmark
+    public int tick() {
+        if (server.getStatus() != MyGameServer.PLAY) server.initDefaultLevel();
+        server.tick();
+        return server.getScore();
+    }
+}
@@ -1,6 +1,13 @@
 package MyGame.adapters;
 
 import MyGame.server.MyGameServer;
+import MyGame.server.SimClock;
+import assignments.BoardChanges;
+import assignments.Cells;
+import assignments.GhostTiming;
+import assignments.Index2D;
+import assignments.Pixel2D;
+import assignments.PositionSource;
 import exe.ex3.game.GhostCL;
 import exe.ex3.game.PacmanGame;
 
@@ -35,31 +42,64 @@ import exe.ex3.game.PacmanGame;
  * -----
  * Some engine parameters in init are accepted for compatibility but are not used here,
  * because the server is responsible for building its own default level.
+ * The seed is passed on to the server, so runs are reproducible per seed.
+ *
+ * POSITIONS
+ * ---------
+ * The adapter and its ghosts also implement PositionSource, so algorithms can read
+ * positions as packed ints instead of parsing the "x,y" strings of getPos.
+ *
+ * BOARD CHANGES
+ * -------------
+ * getGame returns the live server board. The adapter also implements BoardChanges on top of
+ * the server change journal, so algorithms can apply per-cell deltas instead of rescanning it.
+ *
+ * GHOST TIMING
+ * ------------
+ * Ghosts step at most every ghostStepMs of server time, while Pac-Man steps on every move.
+ * The ghosts implement GhostTiming, which converts their pacing and release times into
+ * Pac-Man moves. The time of one move is the step of a TickClock, otherwise the dt given to
+ * init, otherwise DEFAULT_MS_PER_MOVE.
  */
-public class MyPacmanGameAdapter implements PacmanGame {
+public class MyPacmanGameAdapter implements PacmanGame, PositionSource, BoardChanges {
+
+    private static final GhostCL[] NO_GHOSTS = new GhostCL[0];
+
+    /** Server time of one move when neither the clock nor init tells (AUTO_STEP_MS of MyMain). */
+    public static final long DEFAULT_MS_PER_MOVE = 120;
 
     private final MyGameServer g;
+    private long msPerMove;
+
+    // Cached getGhosts result and the server array it was built from
+    private MyGameServer.Ghost[] ghostSource = null;
+    private GhostCL[] ghostView = NO_GHOSTS;
 
     public MyPacmanGameAdapter(MyGameServer server) {
         this.g = server;
+        SimClock clock = server.getClock();
+        this.msPerMove = (clock instanceof SimClock.TickClock)
+                ? ((SimClock.TickClock) clock).getMsPerTick() : DEFAULT_MS_PER_MOVE;
     }
 
     /**
      * Initializes the game session for the engine.
      *
      * Behavior:
-     * The server initializes its default level.
+     * The server initializes its default level with the given seed.
      * The cyclic flag is synchronized with the engine request.
+     * A positive dt sets the server time of one move, unless the server runs on a TickClock.
      *
      * Parameters:
-     * level, mapStr, seed, ghostSpeed, dt, and something are currently ignored by this adapter.
+     * level, mapStr, ghostSpeed, and something are currently ignored by this adapter.
      *
      * @return "OK" on success
      */
     @Override
     public String init(int level, String mapStr, boolean cyclic, long seed, double ghostSpeed, int dt, int something) {
-        g.initDefaultLevel();
+        g.initDefaultLevel(seed);
         if (g.isCyclic() != cyclic) g.toggleCyclic();
+        if (dt > 0 && !(g.getClock() instanceof SimClock.TickClock)) msPerMove = dt;
         return "OK";
     }
 
@@ -127,6 +167,23 @@ public class MyPacmanGameAdapter implements PacmanGame {
         return g.getBoard();
     }
 
+    // ----- BoardChanges, backed by the server journal -----
+
+    @Override
+    public long boardVersion() { return g.getJournal().version(); }
+
+    @Override
+    public long oldestBoardVersion() { return g.getJournal().oldestVersion(); }
+
+    @Override
+    public int changedCell(long v) { return g.getJournal().cell(v); }
+
+    @Override
+    public int changedFrom(long v) { return g.getJournal().oldValue(v); }
+
+    @Override
+    public int changedTo(long v) { return g.getJournal().newValue(v); }
+
     /**
      * Returns Pac-Man position formatted as x,y.
      *
@@ -138,6 +195,33 @@ public class MyPacmanGameAdapter implements PacmanGame {
         return g.getPacX() + "," + g.getPacY();
     }
 
+    /**
+     * Returns Pac-Man position without building a string.
+     *
+     * @param code engine-specific code (not used)
+     * @return position packed with Cells.pack for the board height
+     */
+    @Override
+    public int packedPos(int code) {
+        return Cells.pack(g.getPacX(), g.getPacY(), boardHeight());
+    }
+
+    /**
+     * Returns Pac-Man position as a pixel, without building a string.
+     *
+     * @param code engine-specific code (not used)
+     * @return current position
+     */
+    @Override
+    public Pixel2D pixelPos(int code) {
+        return new Index2D(g.getPacX(), g.getPacY());
+    }
+
+    /** @return height of the server board, the h of the packed positions */
+    private int boardHeight() {
+        return g.getBoard()[0].length;
+    }
+
     /**
      * Returns ghosts adapted to the engine GhostCL interface.
      *
@@ -145,17 +229,33 @@ public class MyPacmanGameAdapter implements PacmanGame {
      * Each server ghost is wrapped by SimpleGhostCL.
      * If the server returns null, an empty array is returned.
      *
+     * The wrappers read the live server ghost, so the array is cached and reused:
+     * it is rebuilt only when the server ghost array (or one of its ghosts) is replaced.
+     * In steady state this call makes no allocations. Callers must not modify the array.
+     *
      * @param code engine-specific code (not used)
      * @return array of GhostCL objects, never null
      */
     @Override
     public GhostCL[] getGhosts(int code) {
         MyGameServer.Ghost[] gs = g.getGhosts();
-        if (gs == null) return new GhostCL[0];
+        if (gs == null) return NO_GHOSTS;
+        if (gs != ghostSource || !sameGhosts(gs)) {
+            GhostCL[] out = new GhostCL[gs.length];
+            for (int i = 0; i < gs.length; i++) out[i] = new SimpleGhostCL(gs[i], this);
+            ghostSource = gs;
+            ghostView = out;
+        }
+        return ghostView;
+    }
 
-        GhostCL[] out = new GhostCL[gs.length];
-        for (int i = 0; i < gs.length; i++) out[i] = new SimpleGhostCL(gs[i]);
-        return out;
+    /** @return true iff the cached wrappers still wrap exactly the ghosts of gs */
+    private boolean sameGhosts(MyGameServer.Ghost[] gs) {
+        if (ghostView.length != gs.length) return false;
+        for (int i = 0; i < gs.length; i++) {
+            if (((SimpleGhostCL) ghostView[i]).gg != gs[i]) return false;
+        }
+        return true;
     }
 
     /**
@@ -179,6 +279,13 @@ public class MyPacmanGameAdapter implements PacmanGame {
         return g.isCyclic();
     }
 
+    /**
+     * @return server time (ms) of one move, used to express ghost timing in moves
+     */
+    public long getMsPerMove() {
+        return msPerMove;
+    }
+
     /**
      * Optional engine hook.
      * This adapter does not use key characters because movement is driven by move(dir).
@@ -197,17 +304,22 @@ public class MyPacmanGameAdapter implements PacmanGame {
      * The server uses its own Ghost structure.
      * This wrapper exposes only the fields and behaviors that the engine needs:
      * type, position, info string, eatable timer, and status.
+     * It also reports the ghost's pace and release time in moves (GhostTiming).
      *
      * STATUS POLICY
      * -------------
      * If the ghost is released, status is PLAY.
      * Otherwise, status is INIT.
      */
-    private static class SimpleGhostCL implements GhostCL {
+    private static class SimpleGhostCL implements GhostCL, PositionSource, GhostTiming {
         private final MyGameServer.Ghost gg;
+        private final MyPacmanGameAdapter owner;
+        private final SimClock clock;
 
-        SimpleGhostCL(MyGameServer.Ghost gg) {
+        SimpleGhostCL(MyGameServer.Ghost gg, MyPacmanGameAdapter owner) {
             this.gg = gg;
+            this.owner = owner;
+            this.clock = owner.g.getClock();
         }
 
         /**
@@ -222,6 +334,16 @@ public class MyPacmanGameAdapter implements PacmanGame {
          */
         @Override public String getPos(int code) { return gg.x + "," + gg.y; }
 
+        /**
+         * @return position packed with Cells.pack for the board height
+         */
+        @Override public int packedPos(int code) { return Cells.pack(gg.x, gg.y, owner.boardHeight()); }
+
+        /**
+         * @return position as a new pixel
+         */
+        @Override public Pixel2D pixelPos(int code) { return new Index2D(gg.x, gg.y); }
+
         /**
          * @return short info string for debugging and overlays
          */
@@ -232,13 +354,13 @@ public class MyPacmanGameAdapter implements PacmanGame {
          *
          * Behavior:
          * If the ghost is not eatable, return -1.0.
-         * Otherwise return the remaining seconds until eatableUntilMs.
+         * Otherwise return the remaining seconds until eatableUntilMs, on the server clock.
          *
          * @return seconds remaining, or -1.0 if not eatable
          */
         @Override
         public double remainTimeAsEatable(int code) {
-            long now = System.currentTimeMillis();
+            long now = clock.nowMs();
             long msLeft = gg.eatableUntilMs - now;
             if (msLeft <= 0) return -1.0;
             return msLeft / 1000.0;
@@ -251,5 +373,34 @@ public class MyPacmanGameAdapter implements PacmanGame {
         public int getStatus() {
             return gg.released ? PLAY : INIT;
         }
+
+        /**
+         * @return moves per step: ghostStepMs rounded up to whole moves once released,
+         *         1 while walking out of the house
+         */
+        @Override
+        public int movesPerStep(int code) {
+            if (!gg.released) return 1;
+            return moves(owner.g.getGhostStepMs());
+        }
+
+        /**
+         * A released ghost steps at the first tick at least ghostStepMs after its last step;
+         * a ghost in the house starts walking out at the first tick after releaseAtMs.
+         *
+         * @return moves until the next step, at least 1
+         */
+        @Override
+        public int movesUntilNextStep(int code) {
+            long due = gg.released ? gg.lastMoveMs + owner.g.getGhostStepMs() : gg.releaseAtMs;
+            return moves(due - clock.nowMs());
+        }
+
+        /** @return ms rounded up to whole moves, at least 1 */
+        private int moves(long ms) {
+            long per = owner.msPerMove;
+            if (ms <= per) return 1;
+            return (int) Math.min(Integer.MAX_VALUE, (ms + per - 1) / per);
+        }
     }
 }
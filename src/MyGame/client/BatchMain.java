@@ -0,0 +1,240 @@
+package MyGame.client;
+
+import MyGame.adapters.MyPacmanGameAdapter;
+import MyGame.server.MyGameServer;
+import MyGame.server.SimClock;
+import assignments.Ex3Algo;
+import assignments.ExpectimaxAlgo;
+import assignments.GameInfo;
+import exe.ex3.game.PacManAlgo;
+import exe.ex3.game.PacmanGame;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Headless batch runner for evaluating the Pac-Man algorithm over many games.
+ *
+ * OVERVIEW
+ * --------
+ * Runs one game per seed in a seed range, with no rendering and no sleeps, and reports:
+ * win rate, score distribution, ticks-to-win and decisions per second.
+ *
+ * Each game drives MyGameServer through MyPacmanGameAdapter exactly like MyMain in AUTO mode:
+ * algo.move(adapter) picks a direction, adapter.move(dir) applies it and ticks the server.
+ * The server runs on a SimClock.TickClock, so every tick advances simulation time by
+ * msPerTick (default 120, the AUTO_STEP_MS of MyMain) and the game behaves as in real time.
+ *
+ * PARALLELISM
+ * -----------
+ * Games run on a fixed pool of worker threads (default: all cores).
+ * Each worker owns its server, adapter and clock, and creates a fresh algorithm per game
+ * on its own thread, so nothing mutable is shared between workers.
+ * The seed goes through adapter.init into the server, so every game depends only on its
+ * seed and the results are the same for any number of threads.
+ * Every game plays the server's default level: MyGameServer has no other level, and the
+ * adapter ignores the level number of init.
+ *
+ * USAGE
+ * -----
+ * java MyGame.client.BatchMain [--from 0] [--to 999] [--threads N]
+ *                              [--max-ticks 20000] [--ms-per-tick 120] [--cyclic true]
+ *                              [--algo ex3|expectimax] [--depth 10] [--budget-ms 50]
+ * The expectimax options set its maximal depth and its search time per move (0: no limit).
+ */
+public class BatchMain {
+
+    /** Batch settings. */
+    public static final class Config {
+        public long fromSeed = 0;
+        public long toSeed = 999;          // inclusive
+        public int threads = Runtime.getRuntime().availableProcessors();
+        public int maxTicks = 20000;
+        public long msPerTick = 120;
+        public boolean cyclic = true;
+        public Supplier<PacManAlgo> algo = Ex3Algo::new;
+    }
+
+    /** Outcome of a single game. */
+    public static final class GameResult {
+        public final long seed;
+        public final boolean won;
+        public final int score;
+        public final int ticks;
+
+        GameResult(long seed, boolean won, int score, int ticks) {
+            this.seed = seed;
+            this.won = won;
+            this.score = score;
+            this.ticks = ticks;
+        }
+    }
+
+    /** Aggregated batch results. */
+    public static final class Report {
+        public final GameResult[] games;   // ordered by seed
+        public final long decisions;
+        public final long elapsedNanos;
+
+        Report(GameResult[] games, long decisions, long elapsedNanos) {
+            this.games = games;
+            this.decisions = decisions;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int wins() {
+            int n = 0;
+            for (GameResult g : games) if (g.won) n++;
+            return n;
+        }
+
+        public double winRate() {
+            return games.length == 0 ? 0 : (double) wins() / games.length;
+        }
+
+        public double decisionsPerSecond() {
+            return elapsedNanos == 0 ? 0 : decisions * 1e9 / elapsedNanos;
+        }
+
+        /** @return sorted scores of all games */
+        public int[] scores() {
+            int[] s = new int[games.length];
+            for (int i = 0; i < games.length; i++) s[i] = games[i].score;
+            Arrays.sort(s);
+            return s;
+        }
+
+        /** @return sorted tick counts of the won games */
+        public int[] ticksToWin() {
+            int[] t = new int[wins()];
+            int k = 0;
+            for (GameResult g : games) if (g.won) t[k++] = g.ticks;
+            Arrays.sort(t);
+            return t;
+        }
+
+        @Override
+        public String toString() {
+            int[] s = scores(), t = ticksToWin();
+            return String.format(
+                    "games=%d wins=%d winRate=%.2f%%%n" +
+                    "score: %s%n" +
+                    "ticksToWin: %s%n" +
+                    "decisions=%d in %.2fs (%.0f decisions/s)",
+                    games.length, wins(), 100 * winRate(),
+                    describe(s), describe(t),
+                    decisions, elapsedNanos / 1e9, decisionsPerSecond());
+        }
+
+        private static String describe(int[] sorted) {
+            if (sorted.length == 0) return "n/a";
+            long sum = 0;
+            for (int v : sorted) sum += v;
+            return String.format("min=%d p10=%d median=%d mean=%.1f p90=%d max=%d",
+                    sorted[0], pct(sorted, 10), pct(sorted, 50), (double) sum / sorted.length,
+                    pct(sorted, 90), sorted[sorted.length - 1]);
+        }
+
+        private static int pct(int[] sorted, int p) {
+            return sorted[Math.min(sorted.length - 1, (int) ((long) p * sorted.length / 100))];
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println(run(parse(args)));
+    }
+
+    /**
+     * Reads the command-line options of {@link #main}.
+     *
+     * @param args option / value pairs (see USAGE)
+     * @return batch settings, defaults for the options not given
+     * @throws IllegalArgumentException on an unknown option or algorithm, or an option without value
+     */
+    public static Config parse(String[] args) {
+        Config c = new Config();
+        String algo = "ex3";
+        int depth = ExpectimaxAlgo.DEFAULT_MAX_DEPTH;
+        long budgetMs = GameInfo.DT / ExpectimaxAlgo.BUDGET_DIVISOR;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) throw new IllegalArgumentException("Missing value for " + args[i]);
+            String v = args[i + 1];
+            switch (args[i]) {
+                case "--from":        c.fromSeed = Long.parseLong(v); break;
+                case "--to":          c.toSeed = Long.parseLong(v); break;
+                case "--threads":     c.threads = Integer.parseInt(v); break;
+                case "--max-ticks":   c.maxTicks = Integer.parseInt(v); break;
+                case "--ms-per-tick": c.msPerTick = Long.parseLong(v); break;
+                case "--cyclic":      c.cyclic = Boolean.parseBoolean(v); break;
+                case "--algo":        algo = v; break;
+                case "--depth":       depth = Integer.parseInt(v); break;
+                case "--budget-ms":   budgetMs = Long.parseLong(v); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (algo.equals("expectimax")) {
+            int d = depth;
+            long b = budgetMs, ms = c.msPerTick;
+            c.algo = () -> new ExpectimaxAlgo(d, b, ms);
+        } else if (!algo.equals("ex3")) {
+            throw new IllegalArgumentException("Unknown algorithm " + algo);
+        }
+        return c;
+    }
+
+    /**
+     * Runs every seed of the configured range and aggregates the results.
+     *
+     * @param c batch settings
+     * @return report with one result per seed
+     * @throws Exception if a game throws
+     */
+    public static Report run(Config c) throws Exception {
+        if (c.toSeed < c.fromSeed) throw new IllegalArgumentException("Empty seed range");
+        int n = (int) (c.toSeed - c.fromSeed + 1);
+        GameResult[] results = new GameResult[n];
+        AtomicLong next = new AtomicLong(c.fromSeed);
+        AtomicLong decisions = new AtomicLong();
+
+        int threads = Math.max(1, Math.min(c.threads, n));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long t0 = System.nanoTime();
+        try {
+            Future<?>[] workers = new Future<?>[threads];
+            for (int w = 0; w < threads; w++) {
+                workers[w] = pool.submit(() -> {
+                    MyGameServer server = new MyGameServer(new SimClock.TickClock(c.msPerTick));
+                    MyPacmanGameAdapter adapter = new MyPacmanGameAdapter(server);
+                    long local = 0;
+                    for (long seed = next.getAndIncrement(); seed <= c.toSeed; seed = next.getAndIncrement()) {
+                        GameResult r = playOne(adapter, server, c, seed);
+                        results[(int) (seed - c.fromSeed)] = r;
+                        local += r.ticks;
+                    }
+                    decisions.addAndGet(local);
+                    return null;
+                });
+            }
+            for (Future<?> f : workers) f.get();
+        } finally {
+            pool.shutdown();
+        }
+        return new Report(results, decisions.get(), System.nanoTime() - t0);
+    }
+
+    /** Plays one game to the end (or maxTicks) on the worker's server. */
+    private static GameResult playOne(MyPacmanGameAdapter adapter, MyGameServer server, Config c, long seed) {
+        adapter.init(GameInfo.CASE_SCENARIO, null, c.cyclic, seed, 1.0, (int) c.msPerTick, -1);
+        PacManAlgo algo = c.algo.get();
+        int ticks = 0;
+        while (adapter.getStatus() == PacmanGame.PLAY && ticks < c.maxTicks) {
+            adapter.move(algo.move(adapter));
+            ticks++;
+        }
+        return new GameResult(seed, server.isWon(), server.getScore(), ticks);
+    }
+}
@@ -0,0 +1,102 @@
+package MyGame.server;
+
+/**
+ * Bounded journal of board cell changes, with a version counter.
+ *
+ * OVERVIEW
+ * --------
+ * Every change of a board cell is recorded as one entry (cell, oldValue, newValue, tick)
+ * and gets the next version number. A consumer remembers the version it has seen and,
+ * on the next read, replays only the entries after it instead of rescanning the board.
+ *
+ * Cells are flat indices x * h + y (the same layout as assignments.Map).
+ *
+ * RING BUFFER
+ * -----------
+ * Only the last {@code capacity} entries are kept. A consumer at version v can replay
+ * iff {@code v >= oldestVersion()}; otherwise it has fallen too far behind and must
+ * re-read the whole board. A new board (level start) calls {@link #reset()}, which makes
+ * every older version non-replayable.
+ *
+ * Not thread-safe: it is written and read on the game loop thread.
+ */
+public final class ChangeJournal {
+
+    /** Number of entries kept by the server journal. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int[] cells, olds, news;
+    private final long[] ticks;
+
+    private long version = 0;
+    private long floor = 0;   // versions before this one cannot be replayed (board replaced)
+
+    /**
+     * @param capacity number of entries kept
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public ChangeJournal(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        cells = new int[capacity];
+        olds = new int[capacity];
+        news = new int[capacity];
+        ticks = new long[capacity];
+    }
+
+    /**
+     * Appends one cell change.
+     *
+     * @param cell     flat cell index x * h + y
+     * @param oldValue value before the change
+     * @param newValue value after the change
+     * @param tick     server tick of the change
+     */
+    public void record(int cell, int oldValue, int newValue, long tick) {
+        int s = slot(++version);
+        cells[s] = cell;
+        olds[s] = oldValue;
+        news[s] = newValue;
+        ticks[s] = tick;
+    }
+
+    /** Marks the whole board as replaced: no earlier version can be replayed. */
+    public void reset() {
+        floor = ++version;
+    }
+
+    /** @return version of the latest change (or reset) */
+    public long version() { return version; }
+
+    /** @return smallest version a consumer may be at and still replay up to version() */
+    public long oldestVersion() {
+        return Math.max(floor, version - cells.length);
+    }
+
+    /** @return true iff a consumer at version v can replay the changes up to version() */
+    public boolean canReplayFrom(long v) {
+        return v >= oldestVersion() && v <= version;
+    }
+
+    /** @return flat cell index of change v */
+    public int cell(long v)     { return cells[check(v)]; }
+
+    /** @return value of the cell before change v */
+    public int oldValue(long v) { return olds[check(v)]; }
+
+    /** @return value of the cell after change v */
+    public int newValue(long v) { return news[check(v)]; }
+
+    /** @return server tick of change v */
+    public long tick(long v)    { return ticks[check(v)]; }
+
+    private int check(long v) {
+        if (v <= oldestVersion() || v > version) {
+            throw new IllegalArgumentException("Version " + v + " is not in the journal");
+        }
+        return slot(v);
+    }
+
+    private int slot(long v) {
+        return (int) ((v - 1) % cells.length);
+    }
+}
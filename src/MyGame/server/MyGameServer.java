@@ -4,7 +4,7 @@ import exe.ex3.game.Game;
 import exe.ex3.game.PacmanGame;
 
 import java.awt.*;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Server-side game logic for your Pac-Man project.
@@ -75,7 +75,13 @@ public class MyGameServer {
         /** Absolute time (ms) until which the ghost is edible. 0 = not edible. */
         public long eatableUntilMs = 0;
 
-        public boolean isEatable() { return System.currentTimeMillis() < eatableUntilMs; }
+        /** Time source for isEatable; the server sets it to its own clock. */
+        public SimClock clock = SimClock.SYSTEM;
+
+        /** This ghost's own random stream (split from the level seed). */
+        private SplittableRandom rnd = new SplittableRandom(DEFAULT_SEED);
+
+        public boolean isEatable() { return clock.nowMs() < eatableUntilMs; }
 
         public Ghost(int x, int y, long releaseAtMs, String imgPath) {
             this.x = x;
@@ -88,17 +94,71 @@ public class MyGameServer {
     private Ghost[] ghosts;
     public Ghost[] getGhosts() { return ghosts; }
 
-    private final Random rnd = new Random(1);
+    /** Seed used by initDefaultLevel() when no seed is given. */
+    public static final long DEFAULT_SEED = 1;
+
+    private long seed = DEFAULT_SEED;
     private long ghostStepMs = 180;
 
+    /** @return minimum time (ms) between two steps of a released ghost */
+    public long getGhostStepMs() { return ghostStepMs; }
+
     private long startMs = 0;
     public long getStartMs() { return startMs; }
 
+    // ===== Board change journal =====
+    private final ChangeJournal journal = new ChangeJournal(ChangeJournal.DEFAULT_CAPACITY);
+    private long ticks = 0;
+
+    /** @return journal of board cell changes (reset at every level start) */
+    public ChangeJournal getJournal() { return journal; }
+
+    /** @return number of ticks played in the current level */
+    public long getTicks() { return ticks; }
+
+    // ===== Time =====
+    private final SimClock clock;
+
+    /** Server on wall-clock time (interactive play). */
+    public MyGameServer() {
+        this(SimClock.SYSTEM);
+    }
+
+    /**
+     * Server on a given time source.
+     * With a {@link SimClock.TickClock} the game runs as fast as it is ticked.
+     *
+     * @param clock time source for every timer in the simulation
+     */
+    public MyGameServer(SimClock clock) {
+        if (clock == null) throw new IllegalArgumentException("clock is null");
+        this.clock = clock;
+    }
+
+    public SimClock getClock() { return clock; }
+
+    /** @return current simulation time (ms) */
+    public long nowMs() { return clock.nowMs(); }
+
     // ---------- init ----------
     public void initDefaultLevel() {
+        initDefaultLevel(DEFAULT_SEED);
+    }
+
+    /**
+     * Starts the default level with a given seed.
+     * Every ghost gets its own random stream split from the seed,
+     * so a game is fully reproducible from (seed, moves, clock).
+     *
+     * @param seed level seed
+     */
+    public void initDefaultLevel(long seed) {
+        this.seed = seed;
         loadDefaultLevel();   // ✅ now via LevelBuilder
+        journal.reset();
+        ticks = 0;
         initGhosts();
-        startMs = System.currentTimeMillis();
+        startMs = clock.nowMs();
         status = PLAY;
     }
 
@@ -130,7 +190,8 @@ public class MyGameServer {
     }
 
     private void initGhosts() {
-        long now = System.currentTimeMillis();
+        long now = clock.nowMs();
+        SplittableRandom root = new SplittableRandom(seed);
         ghosts = new Ghost[] {
                 new Ghost(cx - 1, cy, now + 0, "//g1.png"),
                 new Ghost(cx,     cy, now + 3000, "//g2.png"),
@@ -141,6 +202,8 @@ public class MyGameServer {
             g.dir = STAY;
             g.lastMoveMs = 0;
             g.eatableUntilMs = 0;
+            g.clock = clock;
+            g.rnd = root.split();
         }
     }
 
@@ -151,6 +214,7 @@ public class MyGameServer {
     public int getPacDir() { return pacDir; }
     public int getScore() { return score; }
     public boolean isCyclic() { return cyclic; }
+    public long getSeed() { return seed; }
     public boolean isPaused() { return paused; }
     public int getStatus() { return status; }
 
@@ -163,10 +227,15 @@ public class MyGameServer {
     // ===================== GAME LOOP API =====================
     // =========================================================
 
-    /** Advances server-side time by one tick: timers, ghosts, collisions. */
+    /**
+     * Advances server-side time by one tick: clock, timers, ghosts, collisions.
+     * On a TickClock this is also what moves simulation time forward.
+     */
     public void tick() {
         if (paused || status != PLAY) return;
 
+        clock.onTick();
+        ticks++;
         stepSuperTimers();
         updateGhosts();
         checkCollisions();
@@ -201,13 +270,21 @@ public class MyGameServer {
 
         handlePacCell(nx, ny);
 
-        board[nx][ny] = 0;
+        setCell(nx, ny, 0);
         pacX = nx;
         pacY = ny;
 
         checkWinCondition();
     }
 
+    /** Writes a board cell and records the change in the journal. */
+    private void setCell(int x, int y, int v) {
+        int old = board[x][y];
+        if (old == v) return;
+        board[x][y] = v;
+        journal.record(x * board[0].length + y, old, v, ticks);
+    }
+
     private int[] wrapOrReject(int nx, int ny) {
         if (cyclic) {
             if (nx < 0) nx = board.length - 1;
@@ -246,7 +323,7 @@ public class MyGameServer {
 
     private void activateSuperMode() {
         superMode = true;
-        superModeUntil = System.currentTimeMillis() + SUPER_DURATION_MS;
+        superModeUntil = clock.nowMs() + SUPER_DURATION_MS;
 
         if (ghosts != null) {
             for (Ghost g : ghosts) g.eatableUntilMs = superModeUntil;
@@ -254,7 +331,7 @@ public class MyGameServer {
     }
 
     private void stepSuperTimers() {
-        if (superMode && System.currentTimeMillis() > superModeUntil) {
+        if (superMode && clock.nowMs() > superModeUntil) {
             superMode = false;
             if (ghosts != null) for (Ghost g : ghosts) g.eatableUntilMs = 0;
         }
@@ -265,7 +342,7 @@ public class MyGameServer {
     // =========================================================
 
     private void updateGhosts() {
-        long now = System.currentTimeMillis();
+        long now = clock.nowMs();
         for (Ghost g : ghosts) {
             if (!g.released) stepGhostRelease(g, now);
             else stepGhostRandomWalk(g, now);
@@ -303,7 +380,7 @@ public class MyGameServer {
         g.lastMoveMs = now;
 
         int[] dirs = new int[]{UP, DOWN, LEFT, RIGHT};
-        shuffle(dirs);
+        shuffle(dirs, g.rnd);
 
         for (int d : dirs) {
             if (isReverse(g.dir, d) && hasNonReverseOption(g)) continue;
@@ -368,7 +445,7 @@ public class MyGameServer {
         return false;
     }
 
-    private void shuffle(int[] a) {
+    private void shuffle(int[] a, SplittableRandom rnd) {
         for (int i = a.length - 1; i > 0; i--) {
             int j = rnd.nextInt(i + 1);
             int t = a[i]; a[i] = a[j]; a[j] = t;
@@ -404,7 +481,7 @@ public class MyGameServer {
         g.released = false;
         g.dir = STAY;
         g.lastMoveMs = 0;
-        g.releaseAtMs = System.currentTimeMillis() + 2000;
+        g.releaseAtMs = clock.nowMs() + 2000;
     }
 
     private void die() {
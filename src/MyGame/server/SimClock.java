@@ -0,0 +1,81 @@
+package MyGame.server;
+
+/**
+ * Time source for the server simulation.
+ *
+ * <p>The server reads time only through this interface, so the game can run on wall-clock
+ * time (interactive play) or on a simulated clock (tests, headless batch runs) that can go
+ * much faster than real time while keeping the same timing rules.</p>
+ *
+ * <ul>
+ *   <li>{@link #SYSTEM}: wall-clock time, the default.</li>
+ *   <li>{@link TickClock}: advances a fixed number of milliseconds per server tick.</li>
+ *   <li>{@link ManualClock}: only moves when the caller sets or advances it.</li>
+ * </ul>
+ */
+public interface SimClock {
+
+    /** Wall-clock time (System.currentTimeMillis). */
+    SimClock SYSTEM = System::currentTimeMillis;
+
+    /**
+     * @return current simulation time in milliseconds
+     */
+    long nowMs();
+
+    /**
+     * Called by the server at the start of every tick.
+     * Wall-clock and manual clocks ignore it.
+     */
+    default void onTick() { }
+
+    /**
+     * Logical clock: every server tick advances time by a fixed step.
+     */
+    final class TickClock implements SimClock {
+        private final long msPerTick;
+        private long now;
+
+        /**
+         * @param startMs   initial time
+         * @param msPerTick time added at the start of every tick (must be positive)
+         */
+        public TickClock(long startMs, long msPerTick) {
+            if (msPerTick <= 0) throw new IllegalArgumentException("msPerTick must be positive");
+            this.now = startMs;
+            this.msPerTick = msPerTick;
+        }
+
+        /** @param msPerTick time added at the start of every tick, starting from 0 */
+        public TickClock(long msPerTick) {
+            this(0, msPerTick);
+        }
+
+        @Override public long nowMs() { return now; }
+
+        @Override public void onTick() { now += msPerTick; }
+
+        /** @return time added per tick */
+        public long getMsPerTick() { return msPerTick; }
+    }
+
+    /**
+     * Manual clock: time changes only through set / advance.
+     */
+    final class ManualClock implements SimClock {
+        private long now;
+
+        /** @param startMs initial time */
+        public ManualClock(long startMs) { this.now = startMs; }
+
+        public ManualClock() { this(0); }
+
+        @Override public long nowMs() { return now; }
+
+        /** @param ms new absolute time */
+        public void set(long ms) { now = ms; }
+
+        /** @param ms time to add (may be 0) */
+        public void advance(long ms) { now += ms; }
+    }
+}
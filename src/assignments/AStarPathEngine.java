@@ -0,0 +1,96 @@
+package assignments;
+
+import java.util.Arrays;
+
+/**
+ * A* path engine with a wrap-aware Manhattan heuristic.
+ *
+ * OVERVIEW
+ * --------
+ * Cells are flat indices x*h+y. The open set is a binary min-heap of longs
+ * (f << 32 | cell); a cell whose cost improves is pushed again and its stale entries are
+ * skipped when popped. Costs and parents live in int[] buffers, validated by a per-search
+ * stamp, so nothing is cleared between searches and nothing is allocated once warmed up
+ * (apart from the returned path).
+ *
+ * HEURISTIC
+ * ---------
+ * h = dx + dy, where on a cyclic map each axis distance is min(d, size - d), because a
+ * step across the border is a regular neighbor step. The heuristic never overestimates and
+ * is consistent, so the first time the goal is popped its cost is the BFS distance.
+ */
+public class AStarPathEngine implements PathEngine {
+
+    private int[] _g = new int[0];        // cost from start
+    private int[] _parent = new int[0];   // parent cell
+    private int[] _seen = new int[0];     // stamp of the search that reached the cell
+    private int[] _closed = new int[0];   // stamp of the search that expanded the cell
+    private final LongMinHeap _open = new LongMinHeap();
+    private int _stamp = 0;
+
+    @Override
+    public Pixel2D[] shortestPath(Map map, int from, int to, int obsColor) {
+        int w = map.getWidth(), h = map.getHeight();
+        boolean cyclic = map.isCyclic();
+        int[] data = map.data();
+        prepare(w * h);
+        int stamp = _stamp;
+        int[] g = _g, parent = _parent, seen = _seen, closed = _closed;
+
+        int gx = to / h, gy = to - gx * h;
+        seen[from] = stamp;
+        g[from] = 0;
+        parent[from] = -1;
+        _open.clear();
+        _open.push(((long) heuristic(from / h, from % h, gx, gy, w, h, cyclic) << 32) | from);
+
+        while (!_open.isEmpty()) {
+            int cur = (int) _open.pop();
+            if (closed[cur] == stamp) continue;   // stale entry
+            closed[cur] = stamp;
+            if (cur == to) return Paths.build(parent, from, to, h);
+
+            int ng = g[cur] + 1;
+            int x = cur / h, y = cur - x * h;
+            for (int k = 0; k < 4; k++) {
+                int nb = Paths.neighbor(cur, x, y, k, w, h, cyclic);
+                if (nb < 0 || data[nb] == obsColor || closed[nb] == stamp) continue;
+                if (seen[nb] == stamp && g[nb] <= ng) continue;
+                seen[nb] = stamp;
+                g[nb] = ng;
+                parent[nb] = cur;
+                int nx = nb / h;
+                long f = ng + heuristic(nx, nb - nx * h, gx, gy, w, h, cyclic);
+                _open.push((f << 32) | nb);
+            }
+        }
+        return null;
+    }
+
+    /** @return wrap-aware Manhattan distance between (x, y) and (gx, gy). */
+    static int heuristic(int x, int y, int gx, int gy, int w, int h, boolean cyclic) {
+        int dx = Math.abs(x - gx), dy = Math.abs(y - gy);
+        if (cyclic) {
+            dx = Math.min(dx, w - dx);
+            dy = Math.min(dy, h - dy);
+        }
+        return dx + dy;
+    }
+
+    // ----------------- buffers -----------------
+
+    private void prepare(int n) {
+        if (_g.length < n) {
+            _g = new int[n];
+            _parent = new int[n];
+            _seen = new int[n];
+            _closed = new int[n];
+            _stamp = 0;
+        }
+        if (++_stamp == 0) {
+            Arrays.fill(_seen, 0);
+            Arrays.fill(_closed, 0);
+            _stamp = 1;
+        }
+    }
+}
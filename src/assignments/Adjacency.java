@@ -0,0 +1,90 @@
+package assignments;
+
+/**
+ * Precomputed 4-neighbor table of a map for one obstacle color and one cyclic mode.
+ *
+ * OVERVIEW
+ * --------
+ * next[4*c + k] is the neighbor k of cell c (flat x*h+y, neighbors in Map order
+ * 0: y-1, 1: x-1, 2: y+1, 3: x+1), or -1 if that neighbor is outside a non-cyclic map or an
+ * obstacle. The border wrap and the obstacle test are baked in, so a BFS step is one array
+ * read. Obstacle cells have no neighbors.
+ *
+ * Tables are built by {@link Map#adjacency}, which keeps one per cyclic mode and drops it
+ * when an obstacle cell changes through the public API. The unchecked Map.setAt does not
+ * drop it, so callers of setAt must not add or remove obstacles.
+ *
+ * LARGE MAPS
+ * ----------
+ * Above {@link #MAX_CELLS} cells (16 bytes per cell) no table is stored. {@link #neighbor}
+ * then computes the neighbor from the live map data instead.
+ */
+public final class Adjacency {
+
+    /** Largest map, in cells, that gets a stored table. */
+    public static final int MAX_CELLS = 1 << 14;
+
+    private final int[] _next;      // null above MAX_CELLS
+    private final int[] _data;      // live map data, read only when there is no table
+    private final int _w, _h, _obsColor;
+    private final boolean _cyclic;
+
+    private Adjacency(int[] next, int[] data, int w, int h, boolean cyclic, int obsColor) {
+        _next = next;
+        _data = data;
+        _w = w;
+        _h = h;
+        _cyclic = cyclic;
+        _obsColor = obsColor;
+    }
+
+    /** Builds the table for the current walls and cyclic flag of map. */
+    static Adjacency build(Map map, int obsColor) {
+        int w = map.getWidth(), h = map.getHeight();
+        boolean cyclic = map.isCyclic();
+        int[] data = map.data();
+        int n = w * h;
+        if (n > MAX_CELLS) return new Adjacency(null, data, w, h, cyclic, obsColor);
+
+        int[] next = new int[4 * n];
+        for (int x = 0, c = 0; x < w; x++) {
+            for (int y = 0; y < h; y++, c++) {
+                int a = 4 * c;
+                if (data[c] == obsColor) {
+                    next[a] = next[a + 1] = next[a + 2] = next[a + 3] = -1;
+                    continue;
+                }
+                for (int k = 0; k < 4; k++) {
+                    int nb = Paths.neighbor(c, x, y, k, w, h, cyclic);
+                    next[a + k] = (nb >= 0 && data[nb] != obsColor) ? nb : -1;
+                }
+            }
+        }
+        return new Adjacency(next, data, w, h, cyclic, obsColor);
+    }
+
+    /**
+     * @param cell flat index x*h+y of a cell that is not an obstacle
+     * @param k    neighbor number in Map order (0: y-1, 1: x-1, 2: y+1, 3: x+1)
+     * @return flat index of the neighbor, or -1 if it is outside or an obstacle
+     */
+    public int neighbor(int cell, int k) {
+        if (_next != null) return _next[4 * cell + k];
+        int x = cell / _h;
+        int nb = Paths.neighbor(cell, x, cell - x * _h, k, _w, _h, _cyclic);
+        return (nb >= 0 && _data[nb] != _obsColor) ? nb : -1;
+    }
+
+    /** @return the stored table (4 entries per cell), or null above MAX_CELLS */
+    int[] table() {
+        return _next;
+    }
+
+    /** @return true iff this table was built for these dimensions, wrap mode and obstacle color. */
+    boolean matches(int w, int h, boolean cyclic, int obsColor) {
+        return _w == w && _h == h && _cyclic == cyclic && _obsColor == obsColor;
+    }
+
+    public int getObsColor() { return _obsColor; }
+    public boolean isCyclic() { return _cyclic; }
+}
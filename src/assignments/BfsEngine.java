@@ -0,0 +1,302 @@
+package assignments;
+
+import java.util.Arrays;
+
+/**
+ * Reusable, allocation-free breadth-first search over a {@link Map}.
+ *
+ * OVERVIEW
+ * --------
+ * The engine keeps two primitive buffers between calls:
+ * an int[] ring-buffer queue of packed cell indices (x*h+y) and an int[] distance buffer.
+ * Both are sized on first use and only grow when a larger map is searched,
+ * so once warmed up a call allocates nothing.
+ *
+ * The result is exposed through a read-only {@link Map2D} view over the distance buffer.
+ * The view (and the raw buffer) are overwritten by the next search on the same engine.
+ *
+ * NEIGHBORS
+ * ---------
+ * Neighbors are visited in the same order as Map (y-1, x-1, y+1, x+1) and respect the
+ * cyclic flag of the searched map. They are read from the map's {@link Adjacency} table, so
+ * the wrap and obstacle tests are not repeated for every expansion.
+ *
+ * BOUNDED SEARCH
+ * --------------
+ * {@link #nearest}, {@link #nearestTarget} and {@link #nearestCell} stop as soon as the closest
+ * goal cell is reached, or when the radius cap is hit. They do not clear their distances:
+ * visited cells are marked with a per-search stamp in an int[] buffer, so a search costs
+ * O(cells visited), not O(w*h). They keep their distances in a buffer of their own, so a
+ * view returned by {@link #allDistance} stays valid across bounded searches.
+ *
+ * THREADING
+ * ---------
+ * An engine is not thread-safe. Use one engine per thread (or per algorithm instance).
+ */
+public class BfsEngine {
+
+    private int[] _queue = new int[0];
+    private int _mask;
+    private int[] _dist = new int[0];
+    private int[] _near = new int[0];   // distances of the bounded searches
+    private int[] _seen = new int[0];   // stamp of the bounded search that visited the cell
+    private int[] _goal = new int[0];   // stamp of the bounded search that targets the cell
+    private int _stamp = 0;
+
+    private int _w, _h;
+    private boolean _cyclic;
+
+    private final DistanceView _view = new DistanceView();
+
+    /**
+     * Computes BFS distances from {@code start} and returns them as a read-only view.
+     * Obstacles and unreachable cells hold -1.
+     *
+     * @param map      map to search
+     * @param start    source pixel
+     * @param obsColor obstacle value
+     * @return a view over the distance buffer, or null if start is outside the map
+     */
+    public Map2D allDistance(Map map, Pixel2D start, int obsColor) {
+        if (start == null) throw new RuntimeException("Pixel2D is null");
+        if (!map.isInside(start)) return null;
+        run(map, map.indexOf(start.getX(), start.getY()), obsColor);
+        _view.wrap(_dist, _w, _h, _cyclic);
+        return _view;
+    }
+
+    /**
+     * Runs a single-source BFS and returns the live distance buffer.
+     * Entries [0, w*h) are valid; -1 marks obstacles and unreachable cells.
+     *
+     * @param map      map to search
+     * @param startIdx flat index of the source cell
+     * @param obsColor obstacle value
+     * @return the engine distance buffer (reused by the next call)
+     */
+    int[] run(Map map, int startIdx, int obsColor) {
+        prepare(map);
+        int[] dist = _dist;
+        for (int i = 0, n = _w * _h; i < n; i++) dist[i] = -1;
+
+        if (map.data()[startIdx] == obsColor) return dist;
+
+        dist[startIdx] = 0;
+        _queue[0] = startIdx;
+        expand(map, obsColor, 1);
+        return dist;
+    }
+
+    /**
+     * Runs a multi-source BFS: every source starts at distance 0, so each cell ends up with
+     * its distance to the nearest source in a single pass.
+     * Sources that are outside the map, null or obstacles are ignored.
+     *
+     * @param map      map to search
+     * @param sources  source pixels
+     * @param obsColor obstacle value
+     * @return the engine distance buffer (reused by the next call); all -1 if no source is valid
+     */
+    int[] runMulti(Map map, Pixel2D[] sources, int obsColor) {
+        prepare(map);
+        int[] data = map.data();
+        int[] dist = _dist;
+        for (int i = 0, n = _w * _h; i < n; i++) dist[i] = -1;
+
+        int tail = 0;
+        for (Pixel2D p : sources) {
+            if (p == null || !map.isInside(p)) continue;
+            int s = map.indexOf(p.getX(), p.getY());
+            if (data[s] == obsColor || dist[s] == 0) continue;
+            dist[s] = 0;
+            _queue[tail++] = s;
+        }
+        expand(map, obsColor, tail);
+        return dist;
+    }
+
+    /**
+     * Bounded BFS to the nearest cell holding a given value.
+     * Among cells at the same distance the smallest flat index wins (first in x-then-y order).
+     *
+     * @param map      map to search
+     * @param startIdx flat index of the source cell
+     * @param value    value of the goal cells
+     * @param obsColor obstacle value
+     * @param maxDist  radius cap: cells farther than this are not explored
+     * @return (distance << 32 | cell) of the goal found, or -1 if none is within maxDist
+     */
+    long nearest(Map map, int startIdx, int value, int obsColor, int maxDist) {
+        prepare(map);
+        nextStamp();
+        return bounded(map, startIdx, obsColor, maxDist, true, value);
+    }
+
+    /**
+     * Bounded BFS to the nearest of several target cells (stops at the first one reached).
+     * Targets that are null, outside the map or obstacles are ignored.
+     *
+     * @param map      map to search
+     * @param startIdx flat index of the source cell
+     * @param targets  target pixels
+     * @param obsColor obstacle value
+     * @param maxDist  radius cap: cells farther than this are not explored
+     * @return (distance << 32 | cell) of the target found, or -1 if none is within maxDist
+     */
+    long nearestTarget(Map map, int startIdx, Pixel2D[] targets, int obsColor, int maxDist) {
+        prepare(map);
+        int stamp = nextStamp();
+        boolean any = false;
+        for (Pixel2D p : targets) {
+            if (p == null || !map.isInside(p)) continue;
+            _goal[map.indexOf(p.getX(), p.getY())] = stamp;
+            any = true;
+        }
+        if (!any) return -1;
+        return bounded(map, startIdx, obsColor, maxDist, false, 0);
+    }
+
+    /**
+     * Bounded BFS to a single target cell.
+     *
+     * @param map       map to search
+     * @param startIdx  flat index of the source cell
+     * @param targetIdx flat index of the target cell
+     * @param obsColor  obstacle value
+     * @param maxDist   radius cap: cells farther than this are not explored
+     * @return (distance << 32 | targetIdx), or -1 if the target is not within maxDist
+     */
+    long nearestCell(Map map, int startIdx, int targetIdx, int obsColor, int maxDist) {
+        prepare(map);
+        _goal[targetIdx] = nextStamp();
+        return bounded(map, startIdx, obsColor, maxDist, false, 0);
+    }
+
+    /**
+     * Bounded BFS loop shared by nearest, nearestTarget and nearestCell.
+     * A goal is a cell holding {@code value} (byValue) or a cell marked in _goal with the current stamp.
+     * Once a goal is dequeued at distance d, every other cell at distance d is already queued,
+     * so the loop only drains that level to pick the smallest goal index.
+     */
+    private long bounded(Map map, int start, int obsColor, int maxDist, boolean byValue, int value) {
+        int[] data = map.data();
+        if (data[start] == obsColor) return -1;
+        Adjacency adj = map.adjacency(obsColor);
+        int[] dist = _near, seen = _seen, goal = _goal, q = _queue;
+        int stamp = _stamp, mask = _mask;
+
+        seen[start] = stamp;
+        dist[start] = 0;
+        q[0] = start;
+        int head = 0, tail = 1;
+        int found = -1, foundDist = -1;
+
+        while (head != tail) {
+            int cur = q[head++ & mask];
+            int d = dist[cur];
+            if (found >= 0 && d > foundDist) break;
+            if (byValue ? data[cur] == value : goal[cur] == stamp) {
+                if (found < 0 || cur < found) {
+                    found = cur;
+                    foundDist = d;
+                }
+                continue;
+            }
+            if (found >= 0 || d >= maxDist) continue;
+
+            int nd = d + 1;
+            for (int k = 0; k < 4; k++) {
+                int nb = adj.neighbor(cur, k);
+                if (nb >= 0 && seen[nb] != stamp) {
+                    seen[nb] = stamp;
+                    dist[nb] = nd;
+                    q[tail++ & mask] = nb;
+                }
+            }
+        }
+        return found < 0 ? -1 : ((long) foundDist << 32) | found;
+    }
+
+    /** @return a fresh stamp for a bounded search; clears the stamp buffers when the counter wraps. */
+    private int nextStamp() {
+        if (++_stamp == 0) {
+            Arrays.fill(_seen, 0);
+            Arrays.fill(_goal, 0);
+            _stamp = 1;
+        }
+        return _stamp;
+    }
+
+    /**
+     * BFS main loop over the queue entries [0, tail), whose distances are already set.
+     * Uses the map's neighbor table when it has one, else computes the neighbors.
+     */
+    private void expand(Map map, int obsColor, int tail) {
+        int[] dist = _dist;
+        int[] q = _queue;
+        int mask = _mask;
+        int head = 0;
+
+        int[] adj = map.adjacency(obsColor).table();
+        if (adj != null) {
+            while (head != tail) {
+                int cur = q[head++ & mask];
+                int nd = dist[cur] + 1;
+                for (int a = 4 * cur, end = a + 4; a < end; a++) {
+                    int nb = adj[a];
+                    if (nb >= 0 && dist[nb] == -1) { dist[nb] = nd; q[tail++ & mask] = nb; }
+                }
+            }
+            return;
+        }
+
+        int[] data = map.data();
+
+        int w = _w, h = _h;
+        boolean cyclic = _cyclic;
+        int lastRow = (w - 1) * h;
+
+        while (head != tail) {
+            int cur = q[head++ & mask];
+            int nd = dist[cur] + 1;
+            int x = cur / h;
+            int y = cur - x * h;
+
+            // y-1
+            int nb = (y > 0) ? cur - 1 : (cyclic ? cur + h - 1 : -1);
+            if (nb >= 0 && dist[nb] == -1 && data[nb] != obsColor) { dist[nb] = nd; q[tail++ & mask] = nb; }
+            // x-1
+            nb = (x > 0) ? cur - h : (cyclic ? cur + lastRow : -1);
+            if (nb >= 0 && dist[nb] == -1 && data[nb] != obsColor) { dist[nb] = nd; q[tail++ & mask] = nb; }
+            // y+1
+            nb = (y < h - 1) ? cur + 1 : (cyclic ? cur - (h - 1) : -1);
+            if (nb >= 0 && dist[nb] == -1 && data[nb] != obsColor) { dist[nb] = nd; q[tail++ & mask] = nb; }
+            // x+1
+            nb = (x < w - 1) ? cur + h : (cyclic ? cur - lastRow : -1);
+            if (nb >= 0 && dist[nb] == -1 && data[nb] != obsColor) { dist[nb] = nd; q[tail++ & mask] = nb; }
+        }
+    }
+
+    /**
+     * Captures the map geometry and grows the buffers if needed.
+     * Every cell is enqueued at most once, so a queue of w*h entries never overflows.
+     */
+    private void prepare(Map map) {
+        _w = map.getWidth();
+        _h = map.getHeight();
+        _cyclic = map.isCyclic();
+
+        int n = _w * _h;
+        if (_dist.length < n) {
+            _dist = new int[n];
+            _near = new int[n];
+            _seen = new int[n];
+            _goal = new int[n];
+        }
+        if (_queue.length < n) {
+            int cap = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+            _queue = new int[cap];
+            _mask = cap - 1;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package assignments;
+
+import java.util.Arrays;
+
+/**
+ * Bidirectional BFS path engine.
+ *
+ * OVERVIEW
+ * --------
+ * Two breadth-first searches run at the same time, one from the start and one from the goal.
+ * Each step expands one whole level of the side with the smaller frontier. When an edge
+ * connects a cell of the expanded side to a cell already reached by the other side, the level
+ * is still finished and the shortest of the connecting edges found in it is kept, so the
+ * result has the BFS length. On open grids each side only explores a ball of about half the
+ * path length around its endpoint, instead of one ball of the full length.
+ *
+ * Cells are flat indices x*h+y. Distances, parents (packed ints) and visited stamps live in
+ * int[] buffers that are reused between calls and validated by a per-search stamp.
+ */
+public class BidirectionalBfsPathEngine implements PathEngine {
+
+    private int[] _distF = new int[0], _distB = new int[0];
+    private int[] _parentF = new int[0], _parentB = new int[0];
+    private int[] _seenF = new int[0], _seenB = new int[0];
+    private int[] _queueF = new int[0], _queueB = new int[0];
+    private int _stamp = 0;
+
+    // Best meeting edge of the current search: u (reached from start) - v (reached from goal)
+    private int _best, _meetU, _meetV;
+
+    @Override
+    public Pixel2D[] shortestPath(Map map, int from, int to, int obsColor) {
+        int w = map.getWidth(), h = map.getHeight();
+        boolean cyclic = map.isCyclic();
+        int[] data = map.data();
+        prepare(w * h);
+        int stamp = _stamp;
+
+        _seenF[from] = stamp;
+        _distF[from] = 0;
+        _parentF[from] = -1;
+        _queueF[0] = from;
+        _seenB[to] = stamp;
+        _distB[to] = 0;
+        _parentB[to] = -1;
+        _queueB[0] = to;
+        int fHead = 0, fTail = 1, bHead = 0, bTail = 1;
+        _best = Integer.MAX_VALUE;
+
+        while (fHead < fTail && bHead < bTail) {
+            if (fTail - fHead <= bTail - bHead) {
+                int end = fTail;
+                fTail = expandLevel(data, obsColor, w, h, cyclic, fHead, end, true);
+                fHead = end;
+            } else {
+                int end = bTail;
+                bTail = expandLevel(data, obsColor, w, h, cyclic, bHead, end, false);
+                bHead = end;
+            }
+            if (_best != Integer.MAX_VALUE) return build(h);
+        }
+        return null;
+    }
+
+    /**
+     * Expands the queue entries [head, end) of one side and records meeting edges.
+     *
+     * @return the new tail of that side's queue
+     */
+    private int expandLevel(int[] data, int obsColor, int w, int h, boolean cyclic,
+                            int head, int end, boolean forward) {
+        int stamp = _stamp;
+        int[] dist = forward ? _distF : _distB, parent = forward ? _parentF : _parentB;
+        int[] seen = forward ? _seenF : _seenB, q = forward ? _queueF : _queueB;
+        int[] otherSeen = forward ? _seenB : _seenF, otherDist = forward ? _distB : _distF;
+        int tail = end;
+
+        for (int i = head; i < end; i++) {
+            int cur = q[i];
+            int nd = dist[cur] + 1;
+            int x = cur / h, y = cur - x * h;
+            for (int k = 0; k < 4; k++) {
+                int nb = Paths.neighbor(cur, x, y, k, w, h, cyclic);
+                if (nb < 0 || data[nb] == obsColor) continue;
+                if (otherSeen[nb] == stamp && nd + otherDist[nb] < _best) {
+                    _best = nd + otherDist[nb];
+                    _meetU = forward ? cur : nb;
+                    _meetV = forward ? nb : cur;
+                }
+                if (seen[nb] != stamp) {
+                    seen[nb] = stamp;
+                    dist[nb] = nd;
+                    parent[nb] = cur;
+                    q[tail++] = nb;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /** @return start .. meetU (forward parents) followed by meetV .. goal (backward parents). */
+    private Pixel2D[] build(int h) {
+        Pixel2D[] path = new Pixel2D[_best + 1];
+        int i = _distF[_meetU];
+        for (int c = _meetU; c >= 0; c = _parentF[c]) path[i--] = Cells.pixel(c, h);
+        i = _distF[_meetU] + 1;
+        for (int c = _meetV; c >= 0; c = _parentB[c]) path[i++] = Cells.pixel(c, h);
+        return path;
+    }
+
+    private void prepare(int n) {
+        if (_distF.length < n) {
+            _distF = new int[n];
+            _distB = new int[n];
+            _parentF = new int[n];
+            _parentB = new int[n];
+            _seenF = new int[n];
+            _seenB = new int[n];
+            _queueF = new int[n];
+            _queueB = new int[n];
+            _stamp = 0;
+        }
+        if (++_stamp == 0) {
+            Arrays.fill(_seenF, 0);
+            Arrays.fill(_seenB, 0);
+            _stamp = 1;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package assignments;
+
+/**
+ * Optional extension of a game that journals its board changes.
+ *
+ * OVERVIEW
+ * --------
+ * PacmanGame.getGame returns the whole board, so a consumer that caches something derived
+ * from it (walls, pellet sets) would have to rescan all w*h cells every tick to notice what
+ * changed. A game that also implements this interface numbers every cell change with a
+ * version; the consumer keeps the last version it has seen and replays only the newer ones.
+ *
+ * REPLAY
+ * ------
+ * A consumer at version v may replay iff {@code oldestBoardVersion() <= v <= boardVersion()}.
+ * It then reads the changes v+1 .. boardVersion(). Otherwise (first use, new level, or
+ * fallen too far behind) it must re-read the whole board and continue from boardVersion().
+ *
+ * Cells are flat indices x * h + y, as in {@link Map}.
+ */
+public interface BoardChanges {
+
+    /** @return version of the latest board change */
+    long boardVersion();
+
+    /** @return smallest version a consumer may be at and still replay up to boardVersion() */
+    long oldestBoardVersion();
+
+    /** @return flat cell index of change v */
+    int changedCell(long v);
+
+    /** @return cell value before change v */
+    int changedFrom(long v);
+
+    /** @return cell value after change v */
+    int changedTo(long v);
+}
@@ -0,0 +1,65 @@
+package assignments;
+
+/**
+ * Packed int coordinates for the cells of a w*h raster.
+ *
+ * OVERVIEW
+ * --------
+ * A cell (x,y) is packed as x*h+y. This is the layout of Map's backing array, so a packed
+ * cell is also the index of its value, and the path engines and BFS loops work on it
+ * directly. These helpers let code outside the package use the same encoding, with no
+ * Pixel2D allocated per step.
+ *
+ * Neighbors are numbered in Map order (0: y-1, 1: x-1, 2: y+1, 3: x+1) and wrap around the
+ * borders of a cyclic map as documented in Map2D.
+ */
+public final class Cells {
+
+    private Cells() {}
+
+    /** @return the packed cell of (x, y) on a map of height h */
+    public static int pack(int x, int y, int h) {
+        return x * h + y;
+    }
+
+    /** @return x of a packed cell */
+    public static int x(int cell, int h) {
+        return cell / h;
+    }
+
+    /** @return y of a packed cell */
+    public static int y(int cell, int h) {
+        return cell % h;
+    }
+
+    /** @return the packed cell of p on a map of height h */
+    public static int pack(Pixel2D p, int h) {
+        return p.getX() * h + p.getY();
+    }
+
+    /** @return the (possibly shared, see {@link Index2D#of}) pixel of a packed cell */
+    public static Index2D pixel(int cell, int h) {
+        return Index2D.of(cell / h, cell % h);
+    }
+
+    /**
+     * @param k neighbor number in Map order (0: y-1, 1: x-1, 2: y+1, 3: x+1)
+     * @return the packed neighbor, or -1 if it is outside a non-cyclic map
+     */
+    public static int neighbor(int cell, int k, int w, int h, boolean cyclic) {
+        int x = cell / h;
+        return Paths.neighbor(cell, x, cell - x * h, k, w, h, cyclic);
+    }
+
+    /** @return v wrapped into [0, max) */
+    public static int wrap(int v, int max) {
+        int r = v % max;
+        return r < 0 ? r + max : r;
+    }
+
+    /** @return true iff a and b are both null or have the same integer coordinates */
+    public static boolean same(Pixel2D a, Pixel2D b) {
+        if (a == null || b == null) return a == b;
+        return a.getX() == b.getX() && a.getY() == b.getY();
+    }
+}
@@ -0,0 +1,156 @@
+package assignments;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * 4-connected components of the non-obstacle cells of a map, as returned by
+ * {@link Map#labelComponents}.
+ *
+ * LABELS
+ * ------
+ * labels() is a flat x*h+y field. Obstacle cells hold -1. Every other cell holds the number
+ * of its component, from 0 to count()-1. Components are numbered in the order of their first
+ * cell in x-then-y order, so the sequential and the parallel labeling give the same result.
+ * sizes()[k] is the number of cells of component k.
+ *
+ * The arrays are handed over without copying, so they belong to the caller. Nothing else
+ * keeps a reference to them.
+ */
+public final class Components {
+
+    private final int[] _labels;
+    private final int[] _sizes;
+    private final int _w, _h;
+
+    private Components(int[] labels, int[] sizes, int w, int h) {
+        _labels = labels;
+        _sizes = sizes;
+        _w = w;
+        _h = h;
+    }
+
+    /** @return the number of components */
+    public int count() {
+        return _sizes.length;
+    }
+
+    /**
+     * @return the component of (x,y), or -1 for an obstacle
+     * @throws RuntimeException if (x,y) is outside the map
+     */
+    public int label(int x, int y) {
+        if (x < 0 || y < 0 || x >= _w || y >= _h) {
+            throw new RuntimeException("Out of bounds: (" + x + "," + y + ")");
+        }
+        return _labels[x * _h + y];
+    }
+
+    /** @see #label(int, int) */
+    public int label(Pixel2D p) {
+        if (p == null) throw new RuntimeException("Pixel2D is null");
+        return label(p.getX(), p.getY());
+    }
+
+    /** @return the number of cells of component k */
+    public int size(int k) {
+        return _sizes[k];
+    }
+
+    /** @return the label field, flat x*h+y (-1 for obstacles) */
+    public int[] labels() {
+        return _labels;
+    }
+
+    /** @return the size of every component, indexed by label */
+    public int[] sizes() {
+        return _sizes;
+    }
+
+    /** @return width of the labeled map */
+    public int getWidth() {
+        return _w;
+    }
+
+    /** @return height of the labeled map */
+    public int getHeight() {
+        return _h;
+    }
+
+    // ----------------- labeling -----------------
+
+    /** Labels the components with one BFS per component over an int[] queue. */
+    static Components label(int[] data, int w, int h, boolean cyclic, int obsColor) {
+        int n = w * h;
+        int[] labels = new int[n];
+        Arrays.fill(labels, -1);
+        int[] queue = new int[n];
+        int[] sizes = new int[16];
+        int count = 0;
+
+        for (int s = 0; s < n; s++) {
+            if (labels[s] != -1 || data[s] == obsColor) continue;
+            int k = count++;
+            labels[s] = k;
+            queue[0] = s;
+            int head = 0, tail = 1;
+            while (head < tail) {
+                int cur = queue[head++];
+                int x = cur / h, y = cur - x * h;
+                for (int d = 0; d < 4; d++) {
+                    int nb = Paths.neighbor(cur, x, y, d, w, h, cyclic);
+                    if (nb < 0 || labels[nb] != -1 || data[nb] == obsColor) continue;
+                    labels[nb] = k;
+                    queue[tail++] = nb;
+                }
+            }
+            if (k == sizes.length) sizes = Arrays.copyOf(sizes, k * 2);
+            sizes[k] = tail;
+        }
+        return new Components(labels, Arrays.copyOf(sizes, count), w, h);
+    }
+
+    /**
+     * Labels the components with {@link TileUnionFind}. Each root is the first cell of its
+     * component, so numbering the roots tile by tile (after a prefix sum of the roots per
+     * tile) gives the same labels as {@link #label}. The sizes are counted in a final
+     * sequential pass over the labels.
+     *
+     * @param tileCells approximate number of cells per sequential tile (at least one column)
+     */
+    static Components labelParallel(int[] data, int w, int h, boolean cyclic, int obsColor, int tileCells) {
+        int[] parent = TileUnionFind.label(data, w, h, cyclic, obsColor, false, tileCells);
+        int cols = TileUnionFind.tileCols(h, tileCells);
+        int tiles = (w + cols - 1) / cols;
+
+        int[] base = new int[tiles + 1];
+        IntStream.range(0, tiles).parallel().forEach(t -> {
+            int roots = 0;
+            for (int i = t * cols * h, end = Math.min(w, (t + 1) * cols) * h; i < end; i++) {
+                if (parent[i] == i) roots++;
+            }
+            base[t + 1] = roots;
+        });
+        for (int t = 0; t < tiles; t++) base[t + 1] += base[t];
+
+        int[] labels = new int[w * h];
+        IntStream.range(0, tiles).parallel().forEach(t -> {
+            int k = base[t];
+            for (int i = t * cols * h, end = Math.min(w, (t + 1) * cols) * h; i < end; i++) {
+                if (parent[i] == i) labels[i] = k++;
+            }
+        });
+        IntStream.range(0, tiles).parallel().forEach(t -> {
+            for (int i = t * cols * h, end = Math.min(w, (t + 1) * cols) * h; i < end; i++) {
+                if (parent[i] < 0) labels[i] = -1;
+                else if (parent[i] != i) labels[i] = labels[TileUnionFind.root(parent, i)];
+            }
+        });
+
+        int[] sizes = new int[base[tiles]];
+        for (int l : labels) {
+            if (l >= 0) sizes[l]++;
+        }
+        return new Components(labels, sizes, w, h);
+    }
+}
@@ -0,0 +1,468 @@
+package assignments;
+
+import java.util.Arrays;
+
+/**
+ * Maze compressed into a weighted graph of junctions and corridors.
+ *
+ * OVERVIEW
+ * --------
+ * Most walkable cells of a maze are corridor cells with exactly two neighbors. The graph
+ * keeps only the other cells as nodes (junctions, dead ends and corners of tiny maps), and
+ * collapses every chain of corridor cells between two nodes into one edge. The edge weight
+ * is the number of steps of the chain. A corridor cell stores its edge and its offset along
+ * the edge, i.e. its distance from the edge's first node.
+ *
+ * QUERIES
+ * -------
+ * A query seeds Dijkstra at the start cell's node, or at both ends of its corridor with the
+ * offsets as initial distances. Dijkstra then runs over the nodes only, with a binary heap of
+ * (distance << 32 | node) longs. The distance to a corridor cell is the smaller of
+ * "distance to an end + offset from that end". Two cells of the same corridor may also be
+ * joined directly along it. Paths are expanded back into cells from the stored corridors.
+ *
+ * A ring of corridor cells with no junction (a cyclic row, a closed loop) gets one of its
+ * cells as a node, so every walkable cell is either a node or on an edge.
+ *
+ * The graph is a snapshot of the walls at build time. Pellets and other values are ignored.
+ * Buffers are reused between queries, so a graph is not thread-safe.
+ */
+public final class CorridorGraph {
+
+    private final int _w, _h, _obsColor;
+    private final boolean _cyclic;
+
+    // Cells
+    private final int[] _nodeOf;     // node id per cell, -1 otherwise
+    private final int[] _edgeOf;     // edge id per corridor cell, -1 otherwise
+    private final int[] _offset;     // steps from the edge's first node, for corridor cells
+
+    // Nodes
+    private final int[] _nodeCell;
+    private final int[] _firstEdge;  // CSR: incident edges of node u are _incident[_firstEdge[u] .. _firstEdge[u+1])
+    private final int[] _incident;
+
+    // Edges: a -> b with _len steps; inner cells (offsets 1 .. len-1) in _cells from _cellStart
+    private final int[] _a, _b, _len, _cellStart, _cells;
+
+    // Dijkstra buffers
+    private final int[] _dist, _parent, _parentEdge, _seen, _side;
+    private final LongMinHeap _open = new LongMinHeap();
+    private int _stamp;
+    private int[] _field = new int[0];
+    private final DistanceView _view = new DistanceView();
+
+    private CorridorGraph(Builder b) {
+        _w = b.w;
+        _h = b.h;
+        _cyclic = b.cyclic;
+        _obsColor = b.obsColor;
+        _nodeOf = b.nodeOf;
+        _edgeOf = b.edgeOf;
+        _offset = b.offset;
+        _nodeCell = Arrays.copyOf(b.nodeCell, b.nodes);
+        _a = Arrays.copyOf(b.ea, b.edges);
+        _b = Arrays.copyOf(b.eb, b.edges);
+        _len = Arrays.copyOf(b.elen, b.edges);
+        _cellStart = Arrays.copyOf(b.estart, b.edges);
+        _cells = Arrays.copyOf(b.cells, b.cellCount);
+
+        // Incidence lists; self-loops never shorten a path, so they are left out
+        int nodes = b.nodes;
+        _firstEdge = new int[nodes + 1];
+        for (int e = 0; e < _a.length; e++) {
+            if (_a[e] == _b[e]) continue;
+            _firstEdge[_a[e] + 1]++;
+            _firstEdge[_b[e] + 1]++;
+        }
+        for (int u = 0; u < nodes; u++) _firstEdge[u + 1] += _firstEdge[u];
+        _incident = new int[_firstEdge[nodes]];
+        int[] fill = Arrays.copyOf(_firstEdge, nodes);
+        for (int e = 0; e < _a.length; e++) {
+            if (_a[e] == _b[e]) continue;
+            _incident[fill[_a[e]]++] = e;
+            _incident[fill[_b[e]]++] = e;
+        }
+
+        _dist = new int[nodes];
+        _parent = new int[nodes];
+        _parentEdge = new int[nodes];
+        _seen = new int[nodes];
+        _side = new int[nodes];
+    }
+
+    /**
+     * Builds the graph for the current walls and cyclic flag of map.
+     *
+     * @param map      map to compress
+     * @param obsColor obstacle value
+     * @return the corridor graph
+     */
+    public static CorridorGraph build(Map map, int obsColor) {
+        return new CorridorGraph(new Builder(map, obsColor));
+    }
+
+    /** @return number of nodes (junctions, dead ends and one cell per junction-free ring) */
+    public int nodeCount() { return _nodeCell.length; }
+
+    /** @return number of corridor edges, self-loops included */
+    public int edgeCount() { return _a.length; }
+
+    public int getWidth() { return _w; }
+    public int getHeight() { return _h; }
+    public boolean isCyclic() { return _cyclic; }
+    public int getObsColor() { return _obsColor; }
+
+    /**
+     * @return the shortest distance between two pixels, or -1 if either is outside or an
+     *         obstacle, or if they are not connected
+     */
+    public int distance(Pixel2D from, Pixel2D to) {
+        int s = cellOf(from), t = cellOf(to);
+        if (s < 0 || t < 0) return -1;
+        return search(s, t);
+    }
+
+    /**
+     * @return a shortest path from {@code from} to {@code to}, both included, or null if
+     *         either is outside or an obstacle, or if they are not connected
+     */
+    public Pixel2D[] shortestPath(Pixel2D from, Pixel2D to) {
+        int s = cellOf(from), t = cellOf(to);
+        if (s < 0 || t < 0) return null;
+        return path(s, t);
+    }
+
+    /**
+     * Computes the distance from {@code start} to every cell. Dijkstra runs over all the nodes,
+     * then each corridor cell takes the closer of its two ends.
+     *
+     * @return a read-only view over a buffer reused by the next call (-1 for obstacles and
+     *         unreachable cells), or null if start is outside or an obstacle
+     */
+    public Map2D allDistance(Pixel2D start) {
+        int s = cellOf(start);
+        if (s < 0) return null;
+        int n = _w * _h;
+        if (_field.length < n) _field = new int[n];
+        int[] f = _field;
+        dijkstra(s, -1);
+
+        int se = _edgeOf[s], so = _offset[s];
+        for (int c = 0; c < n; c++) {
+            int u = _nodeOf[c];
+            if (u >= 0) {
+                f[c] = reached(u) ? _dist[u] : -1;
+                continue;
+            }
+            int e = _edgeOf[c];
+            if (e < 0) {
+                f[c] = -1;
+                continue;
+            }
+            int o = _offset[c];
+            int best = viaEnds(e, o);
+            if (e == se && (best < 0 || Math.abs(o - so) < best)) best = Math.abs(o - so);
+            f[c] = best;
+        }
+        _view.wrap(f, _w, _h, _cyclic);
+        return _view;
+    }
+
+    // ----------------- queries on flat cells -----------------
+
+    /** @return the shortest distance between two walkable cells, or -1 if not connected. */
+    int search(int s, int t) {
+        if (s == t) return 0;
+        return (int) (dijkstra(s, t) >> 32);
+    }
+
+    /** @return a shortest path between two walkable cells, or null if not connected. */
+    Pixel2D[] path(int s, int t) {
+        if (s == t) return new Pixel2D[]{Cells.pixel(s, _h)};
+        long r = dijkstra(s, t);
+        if (r < 0) return null;
+        int len = (int) (r >> 32), via = (int) r;
+
+        int[] out = new int[len + 1];
+        int i = len;
+        int te = _edgeOf[t];
+        if (via == DIRECT) {
+            return pixels(walk(out, 0, _edgeOf[s], _offset[s], _offset[t]));
+        }
+
+        // Target part, walked backwards from t to the last node
+        int u;
+        if (te < 0) {
+            u = _nodeOf[t];
+        } else if (via == VIA_A) {
+            u = _a[te];
+            for (int o = _offset[t]; o > 0; o--) out[i--] = cellAt(te, o);
+        } else {
+            u = _b[te];
+            for (int o = _offset[t]; o < _len[te]; o++) out[i--] = cellAt(te, o);
+        }
+
+        // Node chain back to the seed node
+        while (_parentEdge[u] >= 0) {
+            int e = _parentEdge[u];
+            if (_b[e] == u) for (int o = _len[e]; o > 0; o--) out[i--] = cellAt(e, o);
+            else for (int o = 0; o < _len[e]; o++) out[i--] = cellAt(e, o);
+            u = _parent[u];
+        }
+
+        // Seed part: from s along its corridor to the seed node
+        out[i] = _nodeCell[u];
+        int se = _edgeOf[s];
+        if (_side[u] == SEED_A) for (int o = 1; o <= _offset[s]; o++) out[--i] = cellAt(se, o);
+        else if (_side[u] == SEED_B) for (int o = _len[se] - 1; o >= _offset[s]; o--) out[--i] = cellAt(se, o);
+        return pixels(out);
+    }
+
+    // ----------------- Dijkstra -----------------
+
+    private static final int SEED_NODE = 0, SEED_A = 1, SEED_B = 2;
+    private static final int NONE = 0, DIRECT = 1, VIA_A = 2, VIA_B = 3, VIA_NODE = 4;
+
+    /**
+     * Runs Dijkstra from cell s. With a target t it stops once no node can improve the best
+     * distance to t; with t == -1 it settles every reachable node.
+     *
+     * @return (distance << 32 | how) where how is DIRECT (along the shared corridor),
+     *         VIA_A / VIA_B (through that end of t's corridor) or VIA_NODE; -1 if unreachable
+     */
+    private long dijkstra(int s, int t) {
+        if (++_stamp == 0) {
+            Arrays.fill(_seen, 0);
+            _stamp = 1;
+        }
+        _open.clear();
+        int se = _edgeOf[s];
+        if (se < 0) {
+            seed(_nodeOf[s], 0, SEED_NODE);
+        } else {
+            seed(_a[se], _offset[s], SEED_A);
+            seed(_b[se], _len[se] - _offset[s], SEED_B);
+        }
+
+        int best = Integer.MAX_VALUE, how = NONE;
+        int te = -1, tNode = -1, to = 0;
+        if (t >= 0) {
+            te = _edgeOf[t];
+            tNode = _nodeOf[t];
+            to = te >= 0 ? _offset[t] : 0;
+            if (te >= 0 && te == se) {
+                best = Math.abs(to - _offset[s]);
+                how = DIRECT;
+            }
+        }
+
+        while (!_open.isEmpty()) {
+            long top = _open.pop();
+            int d = (int) (top >>> 32), u = (int) top;
+            if (d != _dist[u]) continue;   // stale entry
+            if (d >= best) break;
+
+            if (u == tNode) {
+                best = d;
+                how = VIA_NODE;
+                break;
+            }
+            if (te >= 0) {
+                if (u == _a[te] && d + to < best) {
+                    best = d + to;
+                    how = VIA_A;
+                }
+                if (u == _b[te] && d + _len[te] - to < best) {
+                    best = d + _len[te] - to;
+                    how = VIA_B;
+                }
+            }
+
+            for (int i = _firstEdge[u], end = _firstEdge[u + 1]; i < end; i++) {
+                int e = _incident[i];
+                int v = (_a[e] == u) ? _b[e] : _a[e];
+                int nd = d + _len[e];
+                if (_seen[v] == _stamp && _dist[v] <= nd) continue;
+                _seen[v] = _stamp;
+                _dist[v] = nd;
+                _parent[v] = u;
+                _parentEdge[v] = e;
+                _open.push(((long) nd << 32) | v);
+            }
+        }
+        if (t < 0 || how == NONE) return -1;
+        return ((long) best << 32) | how;
+    }
+
+    private void seed(int u, int d, int side) {
+        if (_seen[u] == _stamp && _dist[u] <= d) return;
+        _seen[u] = _stamp;
+        _dist[u] = d;
+        _parent[u] = -1;
+        _parentEdge[u] = -1;
+        _side[u] = side;
+        _open.push(((long) d << 32) | u);
+    }
+
+    private boolean reached(int u) {
+        return _seen[u] == _stamp;
+    }
+
+    /** @return the distance to offset o of edge e through its ends, or -1 if neither was reached. */
+    private int viaEnds(int e, int o) {
+        int best = -1;
+        if (reached(_a[e])) best = _dist[_a[e]] + o;
+        if (reached(_b[e])) {
+            int d = _dist[_b[e]] + _len[e] - o;
+            if (best < 0 || d < best) best = d;
+        }
+        return best;
+    }
+
+    // ----------------- helpers -----------------
+
+    /** @return the cell at offset o of edge e (0 and len are its end nodes). */
+    private int cellAt(int e, int o) {
+        if (o == 0) return _nodeCell[_a[e]];
+        if (o == _len[e]) return _nodeCell[_b[e]];
+        return _cells[_cellStart[e] + o - 1];
+    }
+
+    /** Writes the cells of edge e from offset o0 to o1 into out, starting at index i. */
+    private int[] walk(int[] out, int i, int e, int o0, int o1) {
+        int step = o1 >= o0 ? 1 : -1;
+        for (int o = o0; ; o += step) {
+            out[i++] = cellAt(e, o);
+            if (o == o1) return out;
+        }
+    }
+
+    private Pixel2D[] pixels(int[] cells) {
+        Pixel2D[] p = new Pixel2D[cells.length];
+        for (int i = 0; i < cells.length; i++) p[i] = Cells.pixel(cells[i], _h);
+        return p;
+    }
+
+    /** @return flat index of p, or -1 if p is null, outside or an obstacle. */
+    private int cellOf(Pixel2D p) {
+        if (p == null) return -1;
+        int x = p.getX(), y = p.getY();
+        if (x < 0 || y < 0 || x >= _w || y >= _h) return -1;
+        int c = x * _h + y;
+        return (_nodeOf[c] >= 0 || _edgeOf[c] >= 0) ? c : -1;
+    }
+
+    // ----------------- construction -----------------
+
+    /** Growable construction state; the graph keeps trimmed copies. */
+    private static final class Builder {
+        final int w, h, obsColor;
+        final boolean cyclic;
+        final int[] nodeOf, edgeOf, offset;
+        int[] nodeCell = new int[16];
+        int nodes;
+        int[] ea = new int[16], eb = new int[16], elen = new int[16], estart = new int[16];
+        int edges;
+        int[] cells = new int[64];
+        int cellCount;
+
+        private final Adjacency adj;
+
+        Builder(Map map, int obsColor) {
+            w = map.getWidth();
+            h = map.getHeight();
+            cyclic = map.isCyclic();
+            this.obsColor = obsColor;
+            adj = map.adjacency(obsColor);
+            int[] data = map.data();
+            int n = w * h;
+            nodeOf = new int[n];
+            edgeOf = new int[n];
+            offset = new int[n];
+            Arrays.fill(nodeOf, -1);
+            Arrays.fill(edgeOf, -1);
+
+            for (int c = 0; c < n; c++) {
+                if (data[c] != obsColor && !isCorridor(c)) addNode(c);
+            }
+            for (int u = 0; u < nodes; u++) traceFrom(u);
+
+            // Rings without a junction: promote one cell to a node
+            for (int c = 0; c < n; c++) {
+                if (data[c] == obsColor || nodeOf[c] >= 0 || edgeOf[c] >= 0) continue;
+                traceFrom(addNode(c));
+            }
+        }
+
+        /** @return true iff c has exactly two distinct neighbors, neither being c itself. */
+        private boolean isCorridor(int c) {
+            int first = -1, count = 0;
+            for (int k = 0; k < 4; k++) {
+                int nb = adj.neighbor(c, k);
+                if (nb < 0) continue;
+                if (nb == c || nb == first) return false;
+                if (count++ == 0) first = nb;
+            }
+            return count == 2;
+        }
+
+        private int addNode(int c) {
+            if (nodes == nodeCell.length) nodeCell = Arrays.copyOf(nodeCell, nodes * 2);
+            nodeOf[c] = nodes;
+            nodeCell[nodes] = c;
+            return nodes++;
+        }
+
+        /** Follows every corridor leaving node u that has not been recorded yet. */
+        private void traceFrom(int u) {
+            int uc = nodeCell[u];
+            for (int k = 0; k < 4; k++) {
+                int v = adj.neighbor(uc, k);
+                if (v < 0 || v == uc) continue;
+                if (nodeOf[v] >= 0) {
+                    // Direct node-node step: recorded once, from the smaller cell
+                    if (uc < v) addEdge(u, nodeOf[v], 1, cellCount);
+                    continue;
+                }
+                if (edgeOf[v] >= 0) continue;   // corridor already traced from its other end
+
+                int e = edges, start = cellCount;
+                int prev = uc, cur = v, len = 1;
+                while (nodeOf[cur] < 0) {
+                    if (cellCount == cells.length) cells = Arrays.copyOf(cells, cellCount * 2);
+                    cells[cellCount++] = cur;
+                    edgeOf[cur] = e;
+                    offset[cur] = len;
+                    int next = -1;
+                    for (int j = 0; j < 4; j++) {
+                        int nb = adj.neighbor(cur, j);
+                        if (nb >= 0 && nb != prev) {
+                            next = nb;
+                            break;
+                        }
+                    }
+                    prev = cur;
+                    cur = next;
+                    len++;
+                }
+                addEdge(u, nodeOf[cur], len, start);
+            }
+        }
+
+        private void addEdge(int a, int b, int len, int start) {
+            if (edges == ea.length) {
+                int cap = edges * 2;
+                ea = Arrays.copyOf(ea, cap);
+                eb = Arrays.copyOf(eb, cap);
+                elen = Arrays.copyOf(elen, cap);
+                estart = Arrays.copyOf(estart, cap);
+            }
+            ea[edges] = a;
+            eb[edges] = b;
+            elen[edges] = len;
+            estart[edges] = start;
+            edges++;
+        }
+    }
+}
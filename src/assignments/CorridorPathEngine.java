@@ -0,0 +1,36 @@
+package assignments;
+
+/**
+ * Path engine that searches the {@link CorridorGraph} of the map instead of its cells.
+ *
+ * OVERVIEW
+ * --------
+ * Dijkstra runs over junctions only, so the cost of a search depends on the number of
+ * junctions rather than on the length of the corridors between them. Building the graph
+ * visits every cell once, so the engine only pays off when several searches share the same
+ * walls, e.g. on a large maze.
+ *
+ * The graph is cached and rebuilt when the map's {@link Map#adjacency} changes, which happens
+ * when an obstacle cell is edited, the cyclic flag is toggled, the obstacle color differs or
+ * another map is searched.
+ */
+public class CorridorPathEngine implements PathEngine {
+
+    private Adjacency _adj;       // adjacency the cached graph was built from
+    private CorridorGraph _graph;
+
+    @Override
+    public Pixel2D[] shortestPath(Map map, int from, int to, int obsColor) {
+        return graph(map, obsColor).path(from, to);
+    }
+
+    /** @return the corridor graph for the current walls of map, rebuilt if they changed. */
+    public CorridorGraph graph(Map map, int obsColor) {
+        Adjacency adj = map.adjacency(obsColor);
+        if (adj != _adj) {
+            _graph = CorridorGraph.build(map, obsColor);
+            _adj = adj;
+        }
+        return _graph;
+    }
+}
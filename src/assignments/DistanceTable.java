@@ -0,0 +1,224 @@
+package assignments;
+
+import java.util.Arrays;
+
+/**
+ * All-pairs shortest-path table over the walkable cells of a map.
+ *
+ * OVERVIEW
+ * --------
+ * Every non-obstacle cell gets a compact id in [0, n). The table stores the BFS distance
+ * between every pair of ids in a single char[] matrix (row = source id), so once built,
+ * {@link #distance(int, int)} is a pair of array reads.
+ *
+ * The table is built once per wall layout by running one BFS per walkable cell over an
+ * id-based adjacency list (4 entries per id, -1 for no neighbor). Building is O(n^2),
+ * so tables are limited to {@link #MAX_CELLS} walkable cells; larger maps keep using BFS.
+ *
+ * The table is immutable after construction and safe to share between threads.
+ *
+ * LAYOUT
+ * ------
+ * Cells are addressed by their flat Map index (x*h+y).
+ * Unreachable pairs are stored as {@link #UNREACHABLE} and reported as -1.
+ */
+public class DistanceTable {
+
+    /** Largest number of walkable cells for which a table is built (n*n chars = 8MB). */
+    public static final int MAX_CELLS = 2048;
+
+    static final char UNREACHABLE = Character.MAX_VALUE;
+
+    private final int _w, _h;
+    private final boolean _cyclic;
+    private final int _obsColor;
+
+    private final int[] _idOf;    // flat cell index -> id, or -1 for obstacles
+    private final int[] _cellOf;  // id -> flat cell index
+    private final int[] _adj;     // 4 neighbor ids per id, -1 for none
+    private final char[] _dist;   // n*n, row-major by source id
+
+    private DistanceTable(int w, int h, boolean cyclic, int obsColor,
+                          int[] idOf, int[] cellOf, int[] adj, char[] dist) {
+        _w = w;
+        _h = h;
+        _cyclic = cyclic;
+        _obsColor = obsColor;
+        _idOf = idOf;
+        _cellOf = cellOf;
+        _adj = adj;
+        _dist = dist;
+    }
+
+    /**
+     * Builds the table for the current wall layout of a map.
+     *
+     * @param map      source map (only obstacle cells matter)
+     * @param obsColor obstacle value
+     * @return the table, or null if the map has more than MAX_CELLS walkable cells
+     */
+    public static DistanceTable build(Map map, int obsColor) {
+        int w = map.getWidth(), h = map.getHeight();
+        boolean cyclic = map.isCyclic();
+        int[] data = map.data();
+        int cells = w * h;
+
+        int[] idOf = new int[cells];
+        int n = 0;
+        for (int i = 0; i < cells; i++) {
+            idOf[i] = (data[i] == obsColor) ? -1 : n++;
+        }
+        if (n > MAX_CELLS) return null;
+
+        int[] cellOf = new int[n];
+        for (int i = 0; i < cells; i++) {
+            if (idOf[i] >= 0) cellOf[idOf[i]] = i;
+        }
+
+        int[] adj = buildAdjacency(w, h, cyclic, idOf, cellOf);
+        char[] dist = new char[n * n];
+        int[] queue = new int[n];
+        for (int src = 0; src < n; src++) {
+            bfsRow(src, n, adj, dist, queue);
+        }
+        return new DistanceTable(w, h, cyclic, obsColor, idOf, cellOf, adj, dist);
+    }
+
+    /**
+     * @param fromCell flat index of the source cell
+     * @param toCell   flat index of the target cell
+     * @return BFS distance, or -1 if either cell is an obstacle or the pair is disconnected
+     */
+    public int distance(int fromCell, int toCell) {
+        int a = _idOf[fromCell], b = _idOf[toCell];
+        if (a < 0 || b < 0) return -1;
+        char d = _dist[a * _cellOf.length + b];
+        return d == UNREACHABLE ? -1 : d;
+    }
+
+    /**
+     * @param a first pixel (inside the map)
+     * @param b second pixel (inside the map)
+     * @return BFS distance, or -1 if unreachable
+     */
+    public int distance(Pixel2D a, Pixel2D b) {
+        return distance(a.getX() * _h + a.getY(), b.getX() * _h + b.getY());
+    }
+
+    /**
+     * Returns a read-only view of the distances from one source cell.
+     * Each getPixel on the view is an O(1) table lookup.
+     *
+     * @param from source pixel (inside the map)
+     * @return a new view over the table row of {@code from}
+     */
+    public Map2D from(Pixel2D from) {
+        RowView v = new RowView(this);
+        v.rebind(from.getX() * _h + from.getY());
+        return v;
+    }
+
+    /** @return number of walkable cells (table dimension). */
+    public int size() { return _cellOf.length; }
+
+    /** @return true iff this table was built for a map with the given geometry and obstacle color. */
+    public boolean matches(int w, int h, boolean cyclic, int obsColor) {
+        return _w == w && _h == h && _cyclic == cyclic && _obsColor == obsColor;
+    }
+
+    public int getWidth() { return _w; }
+    public int getHeight() { return _h; }
+    public boolean isCyclic() { return _cyclic; }
+    public int getObsColor() { return _obsColor; }
+
+    /** @return id of a flat cell index, or -1 for obstacles. */
+    int idOf(int cell) { return _idOf[cell]; }
+
+    /** @return flat cell index of an id. */
+    int cellOf(int id) { return _cellOf[id]; }
+
+    /** @return the id adjacency list (4 entries per id, -1 for none); must not be modified. */
+    int[] adjacency() { return _adj; }
+
+    // ----------------- building -----------------
+
+    /**
+     * Builds the id adjacency list: 4 entries per id in the Map neighbor order
+     * (y-1, x-1, y+1, x+1), -1 where the neighbor is outside or an obstacle.
+     */
+    private static int[] buildAdjacency(int w, int h, boolean cyclic, int[] idOf, int[] cellOf) {
+        int n = cellOf.length;
+        int[] adj = new int[4 * n];
+        for (int id = 0; id < n; id++) {
+            int c = cellOf[id];
+            int x = c / h, y = c - x * h;
+            int k = 4 * id;
+            adj[k]     = idAt(x, y - 1, w, h, cyclic, idOf);
+            adj[k + 1] = idAt(x - 1, y, w, h, cyclic, idOf);
+            adj[k + 2] = idAt(x, y + 1, w, h, cyclic, idOf);
+            adj[k + 3] = idAt(x + 1, y, w, h, cyclic, idOf);
+        }
+        return adj;
+    }
+
+    private static int idAt(int x, int y, int w, int h, boolean cyclic, int[] idOf) {
+        if (cyclic) {
+            if (x < 0) x += w; else if (x >= w) x -= w;
+            if (y < 0) y += h; else if (y >= h) y -= h;
+        } else if (x < 0 || y < 0 || x >= w || y >= h) {
+            return -1;
+        }
+        return idOf[x * h + y];
+    }
+
+    /** Single-source BFS over ids, writing row {@code src} of the matrix. */
+    private static void bfsRow(int src, int n, int[] adj, char[] dist, int[] queue) {
+        int base = src * n;
+        Arrays.fill(dist, base, base + n, UNREACHABLE);
+        dist[base + src] = 0;
+
+        int head = 0, tail = 0;
+        queue[tail++] = src;
+        while (head < tail) {
+            int cur = queue[head++];
+            char nd = (char) (dist[base + cur] + 1);
+            for (int k = 4 * cur, end = k + 4; k < end; k++) {
+                int nb = adj[k];
+                if (nb >= 0 && dist[base + nb] == UNREACHABLE) {
+                    dist[base + nb] = nd;
+                    queue[tail++] = nb;
+                }
+            }
+        }
+    }
+
+    // ----------------- row view -----------------
+
+    /**
+     * Read-only Map2D view of one table row (distances from a single source).
+     */
+    static final class RowView extends DistanceView {
+        private final DistanceTable _t;
+        private int _rowBase = -1;
+
+        RowView(DistanceTable t) {
+            _t = t;
+            wrap(null, t._w, t._h, t._cyclic);
+        }
+
+        void rebind(int fromCell) {
+            int id = _t._idOf[fromCell];
+            _rowBase = (id < 0) ? -1 : id * _t._cellOf.length;
+        }
+
+        DistanceTable table() { return _t; }
+
+        @Override
+        int valueAt(int i) {
+            int b = _t._idOf[i];
+            if (_rowBase < 0 || b < 0) return -1;
+            char d = _t._dist[_rowBase + b];
+            return d == UNREACHABLE ? -1 : d;
+        }
+    }
+}
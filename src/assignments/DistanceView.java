@@ -0,0 +1,158 @@
+package assignments;
+
+/**
+ * Read-only {@link Map2D} view over a flat distance buffer (x*h+y layout).
+ *
+ * Used to expose search results without copying them into a new Map.
+ * The view does not own the buffer: whoever produced it may overwrite it on the next search,
+ * so callers that need to keep the values should take a {@link #getMap()} copy.
+ *
+ * Subclasses may serve values from another source by overriding {@link #valueAt(int)}
+ * (see DistanceTable), in which case only the geometry is set through {@link #wrap}.
+ *
+ * All mutating operations throw a RuntimeException.
+ */
+public class DistanceView implements Map2D {
+
+    private int[] _dist;
+    private int _w, _h;
+    private boolean _cyclic;
+
+    /** Creates an empty view; it must be wrapped around a buffer before use. */
+    DistanceView() { }
+
+    /**
+     * Points this view at a distance buffer.
+     *
+     * @param dist   distance buffer, at least w*h entries (null if valueAt is overridden)
+     * @param w      width
+     * @param h      height
+     * @param cyclic cyclic flag reported by the view
+     */
+    void wrap(int[] dist, int w, int h, boolean cyclic) {
+        _dist = dist;
+        _w = w;
+        _h = h;
+        _cyclic = cyclic;
+    }
+
+    /**
+     * @param i flat index x*h+y (already bounds-checked)
+     * @return the distance stored for cell i
+     */
+    int valueAt(int i) {
+        return _dist[i];
+    }
+
+    @Override
+    public void init(int w, int h, int v) {
+        throw new RuntimeException("DistanceView is read-only");
+    }
+
+    @Override
+    public void init(int[][] arr) {
+        throw new RuntimeException("DistanceView is read-only");
+    }
+
+    /**
+     * @return a deep copy of the distances as a [w][h] matrix
+     */
+    @Override
+    public int[][] getMap() {
+        checkWrapped();
+        int[][] ans = new int[_w][_h];
+        for (int x = 0; x < _w; x++) {
+            for (int y = 0; y < _h; y++) {
+                ans[x][y] = valueAt(x * _h + y);
+            }
+        }
+        return ans;
+    }
+
+    @Override
+    public int getWidth() {
+        checkWrapped();
+        return _w;
+    }
+
+    @Override
+    public int getHeight() {
+        checkWrapped();
+        return _h;
+    }
+
+    @Override
+    public int getPixel(int x, int y) {
+        checkWrapped();
+        if (x < 0 || x >= _w || y < 0 || y >= _h) {
+            throw new RuntimeException("Pixel (" + x + "," + y + ") is out of bounds");
+        }
+        return valueAt(x * _h + y);
+    }
+
+    @Override
+    public int getPixel(Pixel2D p) {
+        if (p == null) throw new RuntimeException("Pixel2D is null");
+        return getPixel(p.getX(), p.getY());
+    }
+
+    @Override
+    public void setPixel(int x, int y, int v) {
+        throw new RuntimeException("DistanceView is read-only");
+    }
+
+    @Override
+    public void setPixel(Pixel2D p, int v) {
+        throw new RuntimeException("DistanceView is read-only");
+    }
+
+    @Override
+    public boolean isInside(Pixel2D p) {
+        if (_w == 0 || p == null) return false;
+        int x = p.getX(), y = p.getY();
+        return x >= 0 && x < _w && y >= 0 && y < _h;
+    }
+
+    @Override
+    public boolean isCyclic() {
+        return _cyclic;
+    }
+
+    @Override
+    public void setCyclic(boolean cy) {
+        throw new RuntimeException("DistanceView is read-only");
+    }
+
+    @Override
+    public int fill(Pixel2D p, int new_v) {
+        throw new RuntimeException("DistanceView is read-only");
+    }
+
+    /**
+     * Path search on a snapshot copy of the distances.
+     */
+    @Override
+    public Pixel2D[] shortestPath(Pixel2D p1, Pixel2D p2, int obsColor) {
+        return snapshot().shortestPath(p1, p2, obsColor);
+    }
+
+    /**
+     * Distance search on a snapshot copy of the distances.
+     */
+    @Override
+    public Map2D allDistance(Pixel2D start, int obsColor) {
+        return snapshot().allDistance(start, obsColor);
+    }
+
+    /** @return an independent Map holding the current distances. */
+    private Map snapshot() {
+        Map m = new Map(getMap());
+        m.setCyclic(_cyclic);
+        return m;
+    }
+
+    /** @throws RuntimeException if the view was never wrapped around a buffer. */
+    private void checkWrapped() {
+        if (_w == 0) throw new RuntimeException("DistanceView is not initialized");
+    }
+}
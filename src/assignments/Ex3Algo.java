@@ -14,7 +14,7 @@ import java.util.*;
  *
  * The algorithm combines:
  * Pink-first navigation toward the nearest pink pellet
- * A danger map that estimates how close dangerous ghosts can get to each cell
+ * A danger map that estimates how soon dangerous ghosts can reach each cell
  * Escape mode when a ghost is too close and Pac-Man is not powered
  * Powered mode behavior when ghosts are currently eatable
  * Anti-oscillation memory to reduce back-and-forth movement
@@ -23,7 +23,9 @@ import java.util.*;
  * -------------------
  * 1. Read the board, Pac-Man position, and ghosts.
  * 2. Build a danger map:
- *    For every cell, store the minimum maze distance from any dangerous ghost.
+ *    For every cell, store the earliest move at which any dangerous ghost can be there.
+ *    Ghosts that report their pace (GhostTiming) are timed by it; the others are assumed to
+ *    step once per move, so their arrival time is their maze distance.
  * 3. Decide whether Pac-Man is powered and whether escape mode should activate.
  * 4. Score each candidate move (up, down, left, right) using safety and objective terms.
  * 5. Pick the move with the highest score, with a legal fallback if needed.
@@ -55,6 +57,8 @@ import java.util.*;
  * Board indexing is board[x][y].
  * Movement uses a neighbor function with wrap-around behavior.
  * Legality checks exclude walls and the ghost house region.
+ * Positions are read as packed ints through PositionSource when the game offers it,
+ * otherwise they are parsed from the "x,y" strings of getPos.
  */
 public class Ex3Algo implements PacManAlgo {
 
@@ -65,6 +69,27 @@ public class Ex3Algo implements PacManAlgo {
     private Pixel2D lastPos = null;
     private Pixel2D lastPos2 = null; // anti ABAB
 
+    // Maze of the current level; its all-pairs distance table is reused while the walls stay the same
+    private Map level = null;
+    private BoardChanges boardSource = null;   // game whose journal level and pellets are synced with
+    private long boardVersion = -1;            // last journal version applied
+
+    // Remaining PINK and GREEN cells, kept in sync with the board
+    private PelletIndex pellets = null;
+
+    // Danger sources per ghost slot (null = not dangerous) and the field repaired from them each tick
+    private Pixel2D[] dangerSources = new Pixel2D[0];
+    private IncrementalDistanceField dangerField = null;
+
+    // Pace of each danger source in moves (GhostTiming), and the arrival field built from it
+    private int[] dangerFirst = new int[0];
+    private int[] dangerPeriod = new int[0];
+    private InterceptField interceptField = null;
+
+    // Reusable safe-space flood buffers: visited bitset over packed cells, (cell, depth) queue
+    private long[] safeVisited = new long[0];
+    private int[] safeQueue = new int[0];
+
     // Tuning for hard levels (dt=200)
     private static final int DANGER_RADIUS = 7;
     private static final int ESCAPE_TRIGGER = 4;      // enter escape mode threshold
@@ -98,8 +123,6 @@ public class Ex3Algo implements PacManAlgo {
         int code = 0;
 
         int[][] board = game.getGame(code);
-        Map map = new Map(board);
-        map.setCyclic(GameInfo.CYCLIC_MODE);
 
         if (step == 0) {
             BLUE  = Game.getIntColor(Color.BLUE, 0);
@@ -107,10 +130,12 @@ public class Ex3Algo implements PacManAlgo {
             GREEN = Game.getIntColor(Color.GREEN, 0);
         }
 
-        Pixel2D me = parsePos(game.getPos(code));
+        Map map = levelMap(game, board);
+
+        Pixel2D me = posOf(game, code);
         GhostCL[] ghosts = game.getGhosts(code);
 
-        // danger[x][y] is the minimum maze-distance from any dangerous ghost to cell (x,y)
+        // danger[x][y] is the earliest move at which a dangerous ghost can reach cell (x,y)
         double[][] danger = buildDangerMap(map, board, ghosts);
 
         double curDanger = danger[me.getX()][me.getY()];
@@ -135,8 +160,8 @@ public class Ex3Algo implements PacManAlgo {
             double score = evaluate(next, map, board, danger, ghosts, powered);
 
             // Lookahead: estimate future pink opportunities from the next cell
-            Map2D d2 = map.allDistance(next, BLUE);
-            score += 0.5 * futurePinkScore(d2, board, danger);
+            Map2D d2 = map.allDistanceView(next, BLUE);
+            score += 0.5 * futurePinkScore(d2, danger);
 
             // Anti-oscillation and stability
             if (dir == lastDir) score += (escapeMode ? 10 : 120);
@@ -177,43 +202,164 @@ public class Ex3Algo implements PacManAlgo {
         return bestDir;
     }
 
+    /**
+     * Returns the maze map for the current board.
+     *
+     * The walls never change during a level, so the previous map (and its all-pairs
+     * distance table) is reused while every BLUE cell is still in place.
+     * When the walls do change, the table comes from the shared TopologyCache, so a maze
+     * seen before (earlier level, earlier game, another instance) is not rebuilt.
+     * All distance queries then become table lookups instead of BFS runs.
+     * The other cells of the map follow the board too, so value searches on it
+     * (e.g. nearest GREEN) see the current pellets.
+     *
+     * The pellet index is brought up to date at the same time.
+     * When the game journals its board (BoardChanges), only the cell changes since the last
+     * tick are replayed: they update the pellet index and confirm the walls are untouched.
+     * Otherwise the board is scanned once per move.
+     *
+     * @param game  engine game interface
+     * @param board current board
+     * @return maze map with a distance table attached when the maze is small enough
+     */
+    private Map levelMap(PacmanGame game, int[][] board) {
+        BoardChanges changes = (game instanceof BoardChanges) ? (BoardChanges) game : null;
+        if (pellets == null) pellets = new PelletIndex(PINK, GREEN);
+
+        boolean replayed = level != null && changes != null && replay(changes);
+        if (!replayed) {
+            pellets.rebuild(board);
+            if (level == null || !copyIfSameWalls(level, board)) {
+                level = new Map(board);
+                level.setCyclic(GameInfo.CYCLIC_MODE);
+                level.distanceTable(BLUE);
+            }
+        }
+        boardSource = changes;
+        if (changes != null) boardVersion = changes.boardVersion();
+        return level;
+    }
+
+    /**
+     * Applies the journaled changes since boardVersion to the level map and the pellet index.
+     *
+     * @param changes board journal of the game
+     * @return true if every change could be replayed and none of them touches a wall
+     */
+    private boolean replay(BoardChanges changes) {
+        if (changes != boardSource) return false;
+        long now = changes.boardVersion();
+        if (boardVersion < changes.oldestBoardVersion() || boardVersion > now) return false;
+        for (long v = boardVersion + 1; v <= now; v++) {
+            int from = changes.changedFrom(v), to = changes.changedTo(v);
+            if (from == BLUE || to == BLUE) return false;
+            int cell = changes.changedCell(v);
+            level.setAt(cell, to);
+            pellets.apply(cell, from, to);
+        }
+        return true;
+    }
+
+    /**
+     * Copies the board into the previous maze map, as long as the walls are the same.
+     * Walls are not written, so the attached distance table stays valid.
+     *
+     * @param map   previous maze map
+     * @param board current board
+     * @return true if both have the same dimensions and the same BLUE cells
+     */
+    private boolean copyIfSameWalls(Map map, int[][] board) {
+        int w = board.length, h = board[0].length;
+        if (map.getWidth() != w || map.getHeight() != h) return false;
+        for (int x = 0; x < w; x++) {
+            int[] col = board[x];
+            for (int y = 0, i = map.indexOf(x, 0); y < h; y++, i++) {
+                int v = col[y];
+                if ((v == BLUE) != (map.getAt(i) == BLUE)) return false;
+                map.setAt(i, v);
+            }
+        }
+        return true;
+    }
+
     /* =========================
        ========== DANGER MAP =====
        ========================= */
 
     /**
-     * Builds a danger map where each cell stores the minimum maze distance from any dangerous ghost.
+     * Builds a danger map where each cell stores the earliest move at which any dangerous
+     * ghost can reach it (time to intercept).
      *
      * A ghost is considered dangerous if:
      * remainTimeAsEatable is negative, meaning it is not eatable, or
      * remainTimeAsEatable is very small, treated conservatively as still dangerous
      *
+     * Ghosts without GhostTiming step once per move, so the arrival time is the maze distance.
+     * Inactive ones (status 0) are ignored. All of them are seeded into a single multi-source
+     * distance field, repaired from the previous tick (see IncrementalDistanceField).
+     *
+     * Ghosts with GhostTiming are timed by their pace and phase: a ghost that steps every
+     * other move reaches a cell twice as late as its distance says. A ghost still in its house
+     * counts too, with its release delay added. As soon as one ghost reports timing, the map is
+     * built from the per-ghost arrival times instead (see InterceptField).
+     *
      * @param map    maze helper for distance computation
      * @param board  board tile matrix
      * @param ghosts ghosts reported by the engine
-     * @return danger map with distances, infinity if no dangerous ghost can reach the cell
+     * @return danger map with arrival times, infinity if no dangerous ghost can reach the cell
      */
     private double[][] buildDangerMap(Map map, int[][] board, GhostCL[] ghosts) {
         int w = board.length, h = board[0].length;
         double[][] danger = new double[w][h];
-        for (double[] r : danger) Arrays.fill(r, Double.POSITIVE_INFINITY);
 
-        for (GhostCL g : ghosts) {
-            if (g.getStatus() == 0) continue;
+        if (dangerSources.length != ghosts.length) {
+            dangerSources = new Pixel2D[ghosts.length];
+            dangerFirst = new int[ghosts.length];
+            dangerPeriod = new int[ghosts.length];
+        }
+        int k = 0;
+        boolean timed = false;
+        for (int i = 0; i < ghosts.length; i++) {
+            GhostCL g = ghosts[i];
+            dangerSources[i] = null;
+            GhostTiming timing = (g instanceof GhostTiming) ? (GhostTiming) g : null;
+            if (g.getStatus() == 0 && timing == null) continue;
 
             double t = g.remainTimeAsEatable(0);
             boolean dangerous = (t < 0) || (t <= 2);
 
             if (!dangerous) continue;
 
-            Pixel2D gp = parsePos(g.getPos(0).toString());
-            Map2D dist = map.allDistance(gp, BLUE);
+            dangerSources[i] = posOf(g);
+            dangerFirst[i] = (timing == null) ? 1 : timing.movesUntilNextStep(0);
+            dangerPeriod[i] = (timing == null) ? 1 : timing.movesPerStep(0);
+            timed |= (timing != null);
+            k++;
+        }
 
-            for (int x = 0; x < w; x++) {
-                for (int y = 0; y < h; y++) {
-                    int d = dist.getPixel(x, y);
-                    if (d != -1) danger[x][y] = Math.min(danger[x][y], d);
-                }
+        if (k == 0) {
+            for (double[] r : danger) Arrays.fill(r, Double.POSITIVE_INFINITY);
+            return danger;
+        }
+
+        int[] dist;
+        if (timed) {
+            if (interceptField == null || interceptField.map() != map) {
+                interceptField = new InterceptField(map, BLUE);
+            }
+            dist = interceptField.update(dangerSources, dangerFirst, dangerPeriod);
+        } else {
+            // Multi-source field, repaired from last tick's field while the ghosts only step
+            if (dangerField == null || dangerField.map() != map) {
+                dangerField = new IncrementalDistanceField(map, BLUE);
+            }
+            dist = dangerField.update(dangerSources);
+        }
+        for (int x = 0; x < w; x++) {
+            double[] col = danger[x];
+            for (int y = 0, i = x * h; y < h; y++, i++) {
+                int d = dist[i];
+                col[y] = (d == -1) ? Double.POSITIVE_INFINITY : d;
             }
         }
         return danger;
@@ -268,8 +414,8 @@ public class Ex3Algo implements PacManAlgo {
         score += safeSpace * 900;
 
         // 2) Pink is top priority
-        Map2D distMap = map.allDistance(pos, BLUE);
-        Pixel2D pink = closest(board, distMap, PINK);
+        Map2D distMap = map.allDistanceView(pos, BLUE);
+        Pixel2D pink = closest(distMap, PINK);
         if (pink == null) return 1e12;
 
         int dPink = distMap.getPixel(pink.getX(), pink.getY());
@@ -278,13 +424,11 @@ public class Ex3Algo implements PacManAlgo {
 
         // 3) Green only when threatened (and not powered)
         if (!powered && ghostDist <= DANGER_RADIUS) {
-            Pixel2D g = closest(board, distMap, GREEN);
-            if (g != null) {
-                int dGreen = distMap.getPixel(g.getX(), g.getY());
-                if (dGreen != -1 && dGreen <= 4) {
-                    score += 160000.0 / (dGreen + 1);
-                    if (board[x][y] == GREEN) score += 220000;
-                }
+            // Bounded search: stops at the first GREEN or after 4 steps
+            int dGreen = map.distanceToNearest(pos, GREEN, BLUE, 4);
+            if (dGreen != -1) {
+                score += 160000.0 / (dGreen + 1);
+                if (board[x][y] == GREEN) score += 220000;
             }
         }
 
@@ -292,8 +436,9 @@ public class Ex3Algo implements PacManAlgo {
         if (powered) {
             GhostCL edible = bestEdibleReachable(distMap, ghosts);
             if (edible != null) {
-                Pixel2D gp = parsePos(edible.getPos(0).toString());
-                int dg = distMap.getPixel(gp);
+                int h = distMap.getHeight();
+                int gp = packedPosOf(edible, h);
+                int dg = distMap.getPixel(Cells.x(gp, h), Cells.y(gp, h));
                 if (dg != -1 && dg <= 8) {
                     score += 90000.0 / (dg + 1);
                 }
@@ -322,8 +467,9 @@ public class Ex3Algo implements PacManAlgo {
             double t = g.remainTimeAsEatable(0);
             if (t <= 0) continue;
 
-            Pixel2D gp = parsePos(g.getPos(0).toString());
-            int d = distFromPos.getPixel(gp);
+            int h = distFromPos.getHeight();
+            int gp = packedPosOf(g, h);
+            int d = distFromPos.getPixel(Cells.x(gp, h), Cells.y(gp, h));
             if (d == -1) continue;
 
             if (d + EDIBLE_TIME_BUFFER <= t && d < bestD) {
@@ -342,22 +488,21 @@ public class Ex3Algo implements PacManAlgo {
      * Estimates future value of approaching pink pellets from the next position.
      *
      * A pink pellet contributes only if it is reachable and appears safe relative to danger.
+     * Only the remaining pink cells of the pellet index are visited.
      *
      * @param dist   distance map from a candidate position
-     * @param board  board matrix
      * @param danger danger map
      * @return future score contribution
      */
-    private double futurePinkScore(Map2D dist, int[][] board, double[][] danger) {
+    private double futurePinkScore(Map2D dist, double[][] danger) {
         double best = 0;
-        for (int i = 0; i < board.length; i++) {
-            for (int j = 0; j < board[0].length; j++) {
-                if (board[i][j] == PINK) {
-                    int d = dist.getPixel(i, j);
-                    if (d != -1 && danger[i][j] > d + 2) {
-                        best = Math.max(best, 180000.0 / (d + 1));
-                    }
-                }
+        int h = pellets.height();
+        for (int k = 0, n = pellets.size(PINK); k < n; k++) {
+            int c = pellets.cell(PINK, k);
+            int i = c / h, j = c - i * h;
+            int d = dist.getPixel(i, j);
+            if (d != -1 && danger[i][j] > d + 2) {
+                best = Math.max(best, 180000.0 / (d + 1));
             }
         }
         return best;
@@ -374,6 +519,11 @@ public class Ex3Algo implements PacManAlgo {
      * A neighbor is considered safe if the danger map indicates that a dangerous ghost
      * cannot reach it too soon relative to the BFS depth.
      *
+     * Cells are packed as x*h+y. The visited set is a long[] bitset and the queue is an int[]
+     * holding cell and depth, both reused between calls, so the flood makes no allocations.
+     * Only the bits of visited cells are cleared afterwards. Neighbors come from the level
+     * map's Adjacency table, which already excludes walls.
+     *
      * @param start start position
      * @param map   maze helper
      * @param board board matrix
@@ -382,31 +532,45 @@ public class Ex3Algo implements PacManAlgo {
      * @return number of safe reachable cells, up to limit
      */
     private int countSafeSpace(Pixel2D start, Map map, int[][] board, double[][] danger, int limit) {
-        Queue<Pixel2D> q = new LinkedList<>();
-        HashMap<String, Integer> dist = new HashMap<>();
-
-        q.add(start);
-        dist.put(key(start), 0);
+        int w = board.length, h = board[0].length;
+        int n = w * h;
+        Adjacency adj = map.adjacency(BLUE);
+        if (safeVisited.length < ((n + 63) >>> 6)) safeVisited = new long[(n + 63) >>> 6];
+        if (safeQueue.length < 2 * n) safeQueue = new int[2 * n];
+        long[] visited = safeVisited;
+        int[] q = safeQueue; // pairs (cell, depth)
+
+        int s = start.getX() * h + start.getY();
+        q[0] = s;
+        q[1] = 0;
+        visited[s >>> 6] |= 1L << s;
+        int head = 0, tail = 2;
         int count = 0;
 
-        while (!q.isEmpty() && count < limit) {
-            Pixel2D cur = q.poll();
-            int d = dist.get(key(cur));
+        while (head < tail && count < limit) {
+            int cur = q[head], d = q[head + 1];
+            head += 2;
             count++;
 
-            for (int dir : new int[]{Game.UP, Game.DOWN, Game.LEFT, Game.RIGHT}) {
-                Pixel2D n = neighbor(cur, dir, map);
-                String k = key(n);
-
-                if (!isLegal(n, board) || dist.containsKey(k)) continue;
+            // Walls are -1 in the neighbor table; the ghost house is checked here
+            for (int k = 0; k < 4; k++) {
+                int nb = adj.neighbor(cur, k);
+                if (nb < 0 || (visited[nb >>> 6] & (1L << nb)) != 0) continue;
+                int nx = nb / h, ny = nb - nx * h;
+                if (isGhostHouse(nx, ny, board)) continue;
 
                 // Avoid cells that ghosts can reach "soon"
-                if (danger[n.getX()][n.getY()] <= d + 2) continue;
+                if (danger[nx][ny] <= d + 2) continue;
 
-                dist.put(k, d + 1);
-                q.add(n);
+                visited[nb >>> 6] |= 1L << nb;
+                q[tail] = nb;
+                q[tail + 1] = d + 1;
+                tail += 2;
             }
         }
+
+        // Every visited cell went through the queue: clear just those bits
+        for (int i = 0; i < tail; i += 2) visited[q[i] >>> 6] = 0;
         return count;
     }
 
@@ -416,27 +580,17 @@ public class Ex3Algo implements PacManAlgo {
 
     /**
      * Finds the closest cell of a given color using a precomputed distance map.
+     * Only the remaining cells of that color in the pellet index are visited.
      *
-     * @param board board matrix
      * @param dist  distance map from a source cell
-     * @param color target tile code
+     * @param color target tile code (PINK or GREEN)
      * @return the closest matching position, or null if none exists
      */
-    private Pixel2D closest(int[][] board, Map2D dist, int color) {
-        Pixel2D best = null;
-        int min = Integer.MAX_VALUE;
-        for (int i = 0; i < board.length; i++) {
-            for (int j = 0; j < board[0].length; j++) {
-                if (board[i][j] == color) {
-                    int d = dist.getPixel(i, j);
-                    if (d != -1 && d < min) {
-                        min = d;
-                        best = new Index2D(i, j);
-                    }
-                }
-            }
-        }
-        return best;
+    private Pixel2D closest(Map2D dist, int color) {
+        int c = pellets.nearest(color, dist);
+        if (c < 0) return null;
+        int h = pellets.height();
+        return Cells.pixel(c, h);
     }
 
     /**
@@ -456,8 +610,7 @@ public class Ex3Algo implements PacManAlgo {
         if (dir == Game.LEFT) x--;
         if (dir == Game.RIGHT) x++;
 
-        int w = map.getMap().length, h = map.getMap()[0].length;
-        return new Index2D((x + w) % w, (y + h) % h);
+        return Index2D.of(Cells.wrap(x, map.getWidth()), Cells.wrap(y, map.getHeight()));
     }
 
     /**
@@ -472,7 +625,14 @@ public class Ex3Algo implements PacManAlgo {
      * @return true if legal
      */
     private boolean isLegal(Pixel2D p, int[][] board) {
-        return board[p.getX()][p.getY()] != BLUE && !isGhostHouse(p, board);
+        return isLegal(p.getX(), p.getY(), board);
+    }
+
+    /**
+     * Same as {@link #isLegal(Pixel2D, int[][])} on raw coordinates (no Pixel2D needed).
+     */
+    private boolean isLegal(int x, int y, int[][] board) {
+        return board[x][y] != BLUE && !isGhostHouse(x, y, board);
     }
 
     /**
@@ -483,17 +643,19 @@ public class Ex3Algo implements PacManAlgo {
      * @return true if position is considered inside the ghost house
      */
     private boolean isGhostHouse(Pixel2D p, int[][] board) {
-        int mx = board.length / 2, my = board[0].length / 2;
-        return Math.abs(p.getX() - mx) < 3 &&
-                Math.abs(p.getY() - my) < 3 &&
-                board[p.getX()][p.getY()] == 0;
+        return isGhostHouse(p.getX(), p.getY(), board);
     }
 
     /**
-     * @param p position
-     * @return stable string key in the format x,y
+     * Same as {@link #isGhostHouse(Pixel2D, int[][])} on raw coordinates.
+     * Shared with {@link ExpectimaxAlgo}, so both planners keep out of the same cells.
      */
-    private String key(Pixel2D p) { return p.getX() + "," + p.getY(); }
+    static boolean isGhostHouse(int x, int y, int[][] board) {
+        int mx = board.length / 2, my = board[0].length / 2;
+        return Math.abs(x - mx) < 3 &&
+                Math.abs(y - my) < 3 &&
+                board[x][y] == 0;
+    }
 
     /**
      * Returns the opposite direction constant.
@@ -525,6 +687,42 @@ public class Ex3Algo implements PacManAlgo {
         return Game.LEFT;
     }
 
+    /**
+     * Reads Pac-Man position, through PositionSource when the game offers it.
+     *
+     * @param game engine game interface
+     * @param code engine-specific code
+     * @return Pac-Man position
+     */
+    private static Pixel2D posOf(PacmanGame game, int code) {
+        if (game instanceof PositionSource) return ((PositionSource) game).pixelPos(code);
+        return parsePos(game.getPos(code));
+    }
+
+    /**
+     * Reads a ghost position, through PositionSource when the ghost offers it.
+     *
+     * @param g ghost
+     * @return ghost position
+     */
+    private static Pixel2D posOf(GhostCL g) {
+        if (g instanceof PositionSource) return ((PositionSource) g).pixelPos(0);
+        return parsePos(g.getPos(0).toString());
+    }
+
+    /**
+     * Reads a ghost position as a packed cell (see Cells.pack), without allocating
+     * when the ghost offers PositionSource.
+     *
+     * @param g ghost
+     * @param h board height
+     * @return packed ghost position
+     */
+    private static int packedPosOf(GhostCL g, int h) {
+        if (g instanceof PositionSource) return ((PositionSource) g).packedPos(0);
+        return Cells.pack(parsePos(g.getPos(0).toString()), h);
+    }
+
     /**
      * Parses a position string formatted as x,y into a Pixel2D.
      *
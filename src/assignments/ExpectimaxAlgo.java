@@ -0,0 +1,624 @@
+package assignments;
+
+import exe.ex3.game.*;
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Pac-Man decision algorithm that plans with a bounded expectimax search.
+ *
+ * OVERVIEW
+ * --------
+ * Ex3Algo scores the four neighbors with one level of lookahead. This algorithm instead
+ * searches the game tree a few moves deep: Pac-Man picks the best move (max nodes), and the
+ * ghosts move at random (chance nodes), with the same distribution as the server's random walk.
+ * The expected value of the tree tells which first move to play.
+ *
+ * FORWARD MODEL
+ * -------------
+ * The tree follows the rules of MyGameServer, one move at a time:
+ * 1. Pac-Man steps. PINK gives a point and the last PINK wins the level. GREEN makes every
+ *    ghost eatable for SUPER_MS.
+ * 2. The ghosts that are due step. A released ghost picks uniformly among its free
+ *    neighbors other than the one it came from. It reverses only when nothing else is free,
+ *    and it stays when no neighbor is free at all.
+ * 3. The first released ghost on Pac-Man's cell is eaten if eatable, otherwise Pac-Man dies.
+ *    Ghosts only collide after they move, so Pac-Man and a ghost can swap cells.
+ * Ghosts that report GhostTiming step every movesPerStep moves from movesUntilNextStep on.
+ * The others step on every move. A ghost's direction is not reported, so it is inferred from
+ * its last observed step. Ghosts still in the house, and eaten ghosts, stay inert within the
+ * horizon (a release walks the ghost through the house first).
+ *
+ * SEARCH
+ * ------
+ * Iterative deepening from depth 1 up to maxDepth, under a per-move time budget (a share of
+ * GameInfo.DT by default). An iteration that runs out of time is dropped, except for the root
+ * moves it finished: the previous best move is searched first, so those results are at least
+ * as deep as the previous iteration.
+ * A transposition table keyed by a Zobrist hash of (ply, Pac-Man, ghosts, pellets eaten on
+ * the path) stores the value and the best move of every max node. Moves are ordered with
+ * the table's best move first, then by distance to the nearest PINK.
+ *
+ * VALUES
+ * ------
+ * Rewards along the path (pellets, eaten ghosts, death, win) are discounted by GAMMA per move,
+ * so earlier pellets are worth more. A leaf adds the distance to the nearest remaining PINK
+ * and a penalty for dangerous ghosts nearby.
+ */
+public class ExpectimaxAlgo implements PacManAlgo {
+
+    /** Deepest iteration, in Pac-Man moves. */
+    public static final int DEFAULT_MAX_DEPTH = 10;
+
+    /** The search gets GameInfo.DT / BUDGET_DIVISOR ms per move by default. */
+    public static final int BUDGET_DIVISOR = 4;
+
+    /** Super mode duration of MyGameServer. */
+    static final long SUPER_MS = 8000;
+
+    // Values
+    private static final double GAMMA = 0.97;
+    private static final double WIN = 1e6, DEATH = 1e6;
+    private static final double PINK_W = 1000, GREEN_W = 50, GHOST_W = 1500;
+    private static final double DIST_W = 30;
+    private static final double NEAR_W = 600;
+    private static final int NEAR_RADIUS = 4;
+
+    // Map neighbor k (0: y-1, 1: x-1, 2: y+1, 3: x+1) -> move; the server's UP is y+1
+    private static final int[] GAME_DIR = {Game.DOWN, Game.LEFT, Game.UP, Game.RIGHT};
+
+    private static final int TT_BITS = 16;
+
+    private final int maxDepth;
+    private final long budgetNs;    // 0: no time limit
+    private final long msPerMove;
+
+    private int BLUE, PINK, GREEN;
+    private boolean colorsSet = false;
+
+    // Level
+    private Map level = null;
+    private Adjacency adj = null;
+    private DistanceTable table = null;
+    private int w, h;
+
+    // Root position, refreshed every move
+    private int[] cellValue = new int[0];     // board value per cell
+    private boolean[] house = new boolean[0]; // ghost house cells Pac-Man keeps out of
+    private boolean[] eaten = new boolean[0]; // pellets eaten on the current search path
+    private int eatenOnPath;
+    private long eatenKey;                    // Zobrist hash of the eaten cells
+    private int pinkLeft;
+    private int[] pinks = new int[0];         // remaining PINK cells at the root
+    private int pinkCount;
+    private int[] pinkDist = new int[0];      // distance to the nearest PINK at the root
+
+    // Ghosts: per-slot memory across moves, and per-ply state during the search
+    private int G;
+    private int[] seenCell = new int[0], seenDir = new int[0];
+    private boolean[] seenReleased = new boolean[0];
+    private int[] first = new int[0], period = new int[0];
+    private int[][] gCell, gDir, gEatUntil;
+    private boolean[][] gOn;
+
+    // Move buffers per ply, so the search allocates nothing per node
+    private final int[][] pacMoves;           // [ply][4] Pac-Man moves in search order
+    private int[][] ghostOpt;                 // [ply][4 * G] ghost options, four slots per ghost
+    private final int[] rootOrder = new int[4];
+    private final double[] rootValue = new double[4];
+
+    // Transposition table (entries of older searches are told apart by generation)
+    private final long[] ttKey = new long[1 << TT_BITS];
+    private final double[] ttValue = new double[1 << TT_BITS];
+    private final int[] ttDepth = new int[1 << TT_BITS];
+    private final int[] ttMove = new int[1 << TT_BITS];
+    private final int[] ttGen = new int[1 << TT_BITS];
+    private int generation = 0;
+
+    // Zobrist keys
+    private long[] zPac = new long[0], zEaten = new long[0];
+    private long[][] zGhost = new long[0][];
+    private final long[] zPly = new long[64];
+    private final long[] zDir = new long[5 * 8];
+    private final long[] zEat = new long[8];
+    private long seedState = 0x9E3779B97F4A7C15L;
+
+    // Search control
+    private long deadline;
+    private boolean aborted;
+    private long nodes;
+
+    /** Default planner: depth {@link #DEFAULT_MAX_DEPTH} within a share of GameInfo.DT per move. */
+    public ExpectimaxAlgo() {
+        this(DEFAULT_MAX_DEPTH, GameInfo.DT / BUDGET_DIVISOR, GameInfo.DT);
+    }
+
+    /**
+     * @param maxDepth  deepest iteration, in Pac-Man moves (at least 1)
+     * @param budgetMs  search time per move, or 0 to always search to maxDepth
+     * @param msPerMove game time of one move, used to turn eatable timers into moves
+     */
+    public ExpectimaxAlgo(int maxDepth, long budgetMs, long msPerMove) {
+        if (maxDepth < 1) throw new IllegalArgumentException("maxDepth must be at least 1");
+        if (msPerMove <= 0) throw new IllegalArgumentException("msPerMove must be positive");
+        this.maxDepth = Math.min(maxDepth, zPly.length - 1);
+        this.budgetNs = Math.max(0, budgetMs) * 1_000_000L;
+        this.msPerMove = msPerMove;
+        this.pacMoves = new int[this.maxDepth + 1][4];
+        for (int i = 0; i < zPly.length; i++) zPly[i] = nextZobrist();
+        for (int i = 0; i < zDir.length; i++) zDir[i] = nextZobrist();
+        for (int i = 0; i < zEat.length; i++) zEat[i] = nextZobrist();
+    }
+
+    @Override
+    public String getInfo() {
+        return "Expectimax over random-walk ghosts (iterative deepening, transposition table)";
+    }
+
+    /**
+     * Searches the game tree from the current position and returns the best first move.
+     *
+     * @param game engine game interface
+     * @return one of Game.UP, Game.DOWN, Game.LEFT, Game.RIGHT
+     */
+    @Override
+    public int move(PacmanGame game) {
+        long start = System.nanoTime();
+        int[][] board = game.getGame(0);
+        if (!colorsSet) {
+            BLUE  = Game.getIntColor(Color.BLUE, 0);
+            PINK  = Game.getIntColor(Color.PINK, 0);
+            GREEN = Game.getIntColor(Color.GREEN, 0);
+            colorsSet = true;
+        }
+        loadLevel(board, game.isCyclic());
+        loadPellets(board);
+        int pac = cellOf(game);
+        loadGhosts(game.getGhosts(0));
+
+        int[] order = rootOrder;
+        int n = legalMoves(pac, order);
+        if (n == 0) return Game.LEFT;
+        if (n == 1) return GAME_DIR[order[0]];
+
+        generation++;
+        deadline = budgetNs > 0 ? start + budgetNs : Long.MAX_VALUE;
+        aborted = false;
+        nodes = 0;
+
+        int best = order[0];
+        double[] value = rootValue;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int iterBest = -1;
+            double iterValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                double v = pacStep(0, pac, order[i], depth);
+                if (aborted) break;
+                value[i] = v;
+                if (v > iterValue) {
+                    iterValue = v;
+                    iterBest = order[i];
+                }
+            }
+            // A finished iteration, or a partial one that got past the previous best move
+            if (iterBest >= 0) best = iterBest;
+            if (aborted) break;
+            sortByValue(order, value, n);
+        }
+        return GAME_DIR[best];
+    }
+
+    /** @return number of search nodes visited by the last move */
+    long lastNodeCount() {
+        return nodes;
+    }
+
+    /* =========================
+       ========== SEARCH =========
+       ========================= */
+
+    /**
+     * Max node: Pac-Man to move at ply t.
+     *
+     * @return expected discounted value of the future from this state
+     */
+    private double maxNode(int t, int pac, int depth) {
+        if (depth == 0) return evaluate(t, pac);
+        if ((++nodes & 1023) == 0 && System.nanoTime() > deadline) aborted = true;
+        if (aborted) return 0;
+
+        long key = hash(t, pac);
+        int slot = (int) key & ((1 << TT_BITS) - 1);
+        int ttBest = -1;
+        if (ttGen[slot] == generation && ttKey[slot] == key) {
+            if (ttDepth[slot] >= depth) return ttValue[slot];
+            ttBest = ttMove[slot];
+        }
+
+        int[] order = pacMoves[t];
+        int n = legalMoves(pac, order);
+        if (n == 0) return evaluate(t, pac);
+        if (ttBest >= 0) moveToFront(order, n, ttBest);
+
+        double best = Double.NEGATIVE_INFINITY;
+        int bestK = order[0];
+        for (int i = 0; i < n; i++) {
+            double v = pacStep(t, pac, order[i], depth);
+            if (aborted) return 0;
+            if (v > best) {
+                best = v;
+                bestK = order[i];
+            }
+        }
+
+        ttKey[slot] = key;
+        ttValue[slot] = best;
+        ttDepth[slot] = depth;
+        ttMove[slot] = bestK;
+        ttGen[slot] = generation;
+        return best;
+    }
+
+    /** Plays Pac-Man's move k at ply t (eating included), then the ghosts' tick. */
+    private double pacStep(int t, int pac, int k, int depth) {
+        int next = adj.neighbor(pac, k);
+        double reward = 0;
+        boolean ate = false, superStart = false;
+        int v = cellValue[next];
+        if (!eaten[next] && (v == PINK || v == GREEN)) {
+            eaten[next] = true;
+            eatenOnPath++;
+            eatenKey ^= zEaten[next];
+            ate = true;
+            if (v == PINK) {
+                pinkLeft--;
+                reward = PINK_W;
+            } else {
+                reward = GREEN_W;
+                superStart = true;
+            }
+        }
+
+        double value;
+        if (ate && v == PINK && pinkLeft == 0) {
+            value = reward + WIN;
+        } else {
+            value = reward + tick(t + 1, next, depth, superStart);
+        }
+
+        if (ate) {
+            eaten[next] = false;
+            eatenOnPath--;
+            eatenKey ^= zEaten[next];
+            if (v == PINK) pinkLeft++;
+        }
+        return value;
+    }
+
+    /**
+     * Chance node: the ghosts due at ply t step, then collisions are resolved.
+     *
+     * @param superStart true if Pac-Man just ate a GREEN
+     */
+    private double tick(int t, int pac, int depth, boolean superStart) {
+        int superUntil = superStart ? t - 1 + (int) (SUPER_MS / msPerMove) : -1;
+        for (int g = 0; g < G; g++) {
+            gCell[t][g] = gCell[t - 1][g];
+            gDir[t][g] = gDir[t - 1][g];
+            gOn[t][g] = gOn[t - 1][g];
+            gEatUntil[t][g] = superStart ? superUntil : gEatUntil[t - 1][g];
+        }
+        return ghostMoves(t, pac, depth, 0);
+    }
+
+    /** Enumerates the outcomes of ghost g onwards at ply t, weighted by their probability. */
+    private double ghostMoves(int t, int pac, int depth, int g) {
+        if (g == G) return resolve(t, pac, depth);
+        if (!gOn[t][g] || !dueAt(g, t)) return ghostMoves(t, pac, depth, g + 1);
+
+        int cell = gCell[t - 1][g], dir = gDir[t - 1][g];
+        if (outOfReach(pac, cell, depth)) return ghostMoves(t, pac, depth, g + 1);
+        int rev = dir < 0 ? -1 : dir ^ 2;
+        int[] opt = ghostOpt[t];
+        int base = 4 * g, options = 0;
+        for (int k = 0; k < 4; k++) {
+            if (k != rev && adj.neighbor(cell, k) >= 0) opt[base + options++] = k;
+        }
+        if (options == 0 && rev >= 0 && adj.neighbor(cell, rev) >= 0) opt[base + options++] = rev;
+        if (options == 0) return ghostMoves(t, pac, depth, g + 1);
+
+        double sum = 0;
+        for (int i = 0; i < options; i++) {
+            int k = opt[base + i];
+            gCell[t][g] = adj.neighbor(cell, k);
+            gDir[t][g] = k;
+            sum += ghostMoves(t, pac, depth, g + 1);
+            if (aborted) return 0;
+        }
+        gCell[t][g] = cell;
+        gDir[t][g] = dir;
+        return sum / options;
+    }
+
+    /** Collision check of the server (first released ghost on Pac-Man's cell), then recursion. */
+    private double resolve(int t, int pac, int depth) {
+        for (int g = 0; g < G; g++) {
+            if (!gOn[t][g] || gCell[t][g] != pac) continue;
+            if (t >= gEatUntil[t][g]) return -DEATH;
+            gOn[t][g] = false;
+            double v = GHOST_W + GAMMA * maxNode(t, pac, depth - 1);
+            gOn[t][g] = true;
+            return v;
+        }
+        return GAMMA * maxNode(t, pac, depth - 1);
+    }
+
+    /**
+     * A ghost farther than 2 * depth + NEAR_RADIUS from Pac-Man can neither catch him nor
+     * count in a leaf before the horizon, so it is left in place instead of enumerated.
+     * The gap shrinks by at most one per move while the ghost stays, so it stays out of reach.
+     */
+    private boolean outOfReach(int pac, int ghost, int depth) {
+        if (table == null) return false;
+        int d = table.distance(pac, ghost);
+        return d < 0 || d > 2 * depth + NEAR_RADIUS;
+    }
+
+    /** @return true iff ghost g takes a step at the tick of ply t */
+    private boolean dueAt(int g, int t) {
+        return t >= first[g] && (t - first[g]) % period[g] == 0;
+    }
+
+    /* =========================
+       ========== EVALUATE =======
+       ========================= */
+
+    /**
+     * Leaf value: closer to the nearest remaining PINK is better, dangerous ghosts nearby
+     * are worse.
+     */
+    private double evaluate(int t, int pac) {
+        double score = -DIST_W * nearestPink(pac);
+        for (int g = 0; g < G; g++) {
+            if (!gOn[t][g] || t < gEatUntil[t][g]) continue;
+            int d = distance(pac, gCell[t][g]);
+            if (d >= 0 && d <= NEAR_RADIUS) score -= NEAR_W * (NEAR_RADIUS + 1 - d);
+        }
+        return score;
+    }
+
+    /**
+     * @return distance to the nearest PINK not eaten on the current path (0 if none is left
+     *         or none is reachable)
+     */
+    private int nearestPink(int pac) {
+        if (eatenOnPath == 0 || table == null) return Math.max(0, pinkDist[pac]);
+        int best = -1;
+        for (int i = 0; i < pinkCount; i++) {
+            int c = pinks[i];
+            if (eaten[c]) continue;
+            int d = table.distance(pac, c);
+            if (d >= 0 && (best < 0 || d < best)) best = d;
+        }
+        return Math.max(0, best);
+    }
+
+    /** @return maze distance, from the distance table when there is one, else -1 */
+    private int distance(int a, int b) {
+        if (a == b) return 0;
+        return table != null ? table.distance(a, b) : -1;
+    }
+
+    /* =========================
+       ========== ROOT STATE =====
+       ========================= */
+
+    /** Keeps the level map while the walls and the cyclic flag stay the same. */
+    private void loadLevel(int[][] board, boolean cyclic) {
+        int bw = board.length, bh = board[0].length;
+        boolean same = level != null && level.getWidth() == bw && level.getHeight() == bh
+                && level.isCyclic() == cyclic;
+        for (int x = 0; same && x < bw; x++) {
+            for (int y = 0; y < bh; y++) {
+                if ((board[x][y] == BLUE) != (level.getAt(x * bh + y) == BLUE)) {
+                    same = false;
+                    break;
+                }
+            }
+        }
+        if (same) return;
+
+        level = new Map(board);
+        level.setCyclic(cyclic);
+        w = bw;
+        h = bh;
+        adj = level.adjacency(BLUE);
+        table = level.distanceTable(BLUE);
+        int n = w * h;
+        cellValue = new int[n];
+        house = new boolean[n];
+        eaten = new boolean[n];
+        pinks = new int[n];
+        zPac = new long[n];
+        zEaten = new long[n];
+        for (int c = 0; c < n; c++) {
+            zPac[c] = nextZobrist();
+            zEaten[c] = nextZobrist();
+        }
+        zGhost = new long[0][];
+        seenCell = new int[0];
+    }
+
+    /** Reads the pellets of the board and the distance to the nearest PINK of every cell. */
+    private void loadPellets(int[][] board) {
+        pinkCount = 0;
+        for (int x = 0, c = 0; x < w; x++) {
+            for (int y = 0; y < h; y++, c++) {
+                int v = board[x][y];
+                cellValue[c] = v;
+                house[c] = Ex3Algo.isGhostHouse(x, y, board);
+                if (v == PINK) pinks[pinkCount++] = c;
+            }
+        }
+        pinkLeft = pinkCount;
+        eatenOnPath = 0;
+        eatenKey = 0;
+        Arrays.fill(eaten, false);
+
+        Pixel2D[] src = new Pixel2D[pinkCount];
+        for (int i = 0; i < pinkCount; i++) src[i] = Cells.pixel(pinks[i], h);
+        pinkDist = level.allDistanceMulti(src, BLUE).clone();
+    }
+
+    /**
+     * Reads the ghosts into ply 0 and updates the per-slot memory: the direction of a
+     * released ghost is its last observed step (DOWN right after its release, as on the
+     * server), and unknown after a jump.
+     */
+    private void loadGhosts(GhostCL[] ghosts) {
+        if (ghosts.length != G || zGhost.length != ghosts.length || seenCell.length != ghosts.length) {
+            G = ghosts.length;
+            seenCell = new int[G];
+            seenDir = new int[G];
+            seenReleased = new boolean[G];
+            Arrays.fill(seenCell, -1);
+            Arrays.fill(seenDir, -1);
+            first = new int[G];
+            period = new int[G];
+            int plies = maxDepth + 1;
+            gCell = new int[plies][G];
+            gDir = new int[plies][G];
+            gEatUntil = new int[plies][G];
+            gOn = new boolean[plies][G];
+            ghostOpt = new int[plies][4 * G];
+            zGhost = new long[G][w * h];
+            for (long[] z : zGhost) for (int c = 0; c < z.length; c++) z[c] = nextZobrist();
+        }
+
+        for (int g = 0; g < G; g++) {
+            GhostCL gh = ghosts[g];
+            int cell = cellOf(gh);
+            boolean released = gh.getStatus() != 0;
+
+            int dir = seenDir[g];
+            if (released && !seenReleased[g] && seenCell[g] >= 0) dir = 0; // released facing DOWN (y-1)
+            else if (cell != seenCell[g]) dir = stepDir(seenCell[g], cell);
+            seenCell[g] = cell;
+            seenDir[g] = dir;
+            seenReleased[g] = released;
+
+            GhostTiming timing = (gh instanceof GhostTiming) ? (GhostTiming) gh : null;
+            first[g] = timing == null ? 1 : timing.movesUntilNextStep(0);
+            period[g] = timing == null ? 1 : timing.movesPerStep(0);
+
+            double eatSec = gh.remainTimeAsEatable(0);
+            gCell[0][g] = cell;
+            gDir[0][g] = dir;
+            gOn[0][g] = released;
+            gEatUntil[0][g] = eatSec > 0 ? (int) (eatSec * 1000 / msPerMove) - 1 : 0;
+        }
+    }
+
+    /** @return the neighbor number leading from cell a to cell b, or -1 if they are not neighbors */
+    private int stepDir(int a, int b) {
+        if (a < 0) return -1;
+        for (int k = 0; k < 4; k++) {
+            if (Cells.neighbor(a, k, w, h, level.isCyclic()) == b) return k;
+        }
+        return -1;
+    }
+
+    /* =========================
+       ========== HELPERS ========
+       ========================= */
+
+    /**
+     * Legal Pac-Man moves from a cell: not into a wall, off a non-cyclic board or into the
+     * ghost house. They are ordered by the distance to the nearest PINK at the root.
+     *
+     * @return number of moves written to out
+     */
+    private int legalMoves(int pac, int[] out) {
+        int n = 0;
+        for (int k = 0; k < 4; k++) {
+            int nb = adj.neighbor(pac, k);
+            if (nb < 0) continue;
+            if (house[nb]) continue;
+            int i = n++;
+            while (i > 0 && rank(out[i - 1], pac) > rank(k, pac)) {
+                out[i] = out[i - 1];
+                i--;
+            }
+            out[i] = k;
+        }
+        return n;
+    }
+
+    private int rank(int k, int pac) {
+        int d = pinkDist[adj.neighbor(pac, k)];
+        return d < 0 ? Integer.MAX_VALUE : d;
+    }
+
+    private static void moveToFront(int[] order, int n, int k) {
+        for (int i = 0; i < n; i++) {
+            if (order[i] != k) continue;
+            System.arraycopy(order, 0, order, 1, i);
+            order[0] = k;
+            return;
+        }
+    }
+
+    /** Stable sort of the root moves by decreasing value of the last iteration. */
+    private static void sortByValue(int[] order, double[] value, int n) {
+        for (int i = 1; i < n; i++) {
+            int k = order[i];
+            double v = value[i];
+            int j = i;
+            while (j > 0 && value[j - 1] < v) {
+                order[j] = order[j - 1];
+                value[j] = value[j - 1];
+                j--;
+            }
+            order[j] = k;
+            value[j] = v;
+        }
+    }
+
+    /** @return Zobrist hash of the state at ply t */
+    private long hash(int t, int pac) {
+        long key = zPly[t] ^ zPac[pac];
+        for (int g = 0; g < G; g++) {
+            if (!gOn[t][g]) continue;
+            key ^= zGhost[g][gCell[t][g]] ^ zDir[g % 8 * 5 + gDir[t][g] + 1];
+            // Moves of eatable time left; beyond 63 the difference is past any horizon
+            int eat = Math.min(63, Math.max(0, gEatUntil[t][g] - t));
+            if (eat > 0) key ^= Long.rotateLeft(zEat[g % 8], eat);
+        }
+        return key ^ eatenKey;
+    }
+
+    private long nextZobrist() {
+        // SplitMix64
+        long z = (seedState += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** @return Pac-Man's packed cell, read through PositionSource when the game offers it */
+    private int cellOf(PacmanGame game) {
+        if (game instanceof PositionSource) return ((PositionSource) game).packedPos(0);
+        return Cells.pack(parsePos(game.getPos(0)), h);
+    }
+
+    /** @return a ghost's packed cell, read through PositionSource when the ghost offers it */
+    private int cellOf(GhostCL g) {
+        if (g instanceof PositionSource) return ((PositionSource) g).packedPos(0);
+        return Cells.pack(parsePos(g.getPos(0).toString()), h);
+    }
+
+    private static Pixel2D parsePos(String s) {
+        String[] p = s.trim().split(",");
+        return new Index2D(Integer.parseInt(p[0].trim()), Integer.parseInt(p[1].trim()));
+    }
+}
@@ -0,0 +1,111 @@
+package assignments;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Flood-fill kernels behind {@link Map#fill} (flat cells x*h+y).
+ *
+ * SCANLINE
+ * --------
+ * The cells of one column x are contiguous in the flat array, so the scanline runs along y.
+ * A seed grows into the maximal run of old-valued cells in its column (wrapping around y on
+ * a cyclic map), and the run is recolored. Then the neighboring columns are scanned along
+ * the run, and one new seed is pushed for each old-valued sub-run. Only the seeds go on an
+ * int[] stack, so nothing is allocated per cell.
+ *
+ * PARALLEL TILES
+ * --------------
+ * The cells holding the old value are labeled with {@link TileUnionFind}. The start's
+ * component is then recolored in parallel, tile by tile. This pass visits every cell of the
+ * map, so it only pays off for fills that cover a large part of a very large map.
+ */
+final class FloodFill {
+
+    private FloodFill() {}
+
+    /**
+     * Scanline fill of the 4-connected component of {@code start}.
+     *
+     * @return number of cells changed
+     */
+    static int scanline(int[] data, int w, int h, boolean cyclic, int start, int newV) {
+        int oldV = data[start];
+        if (oldV == newV) return 0;
+
+        int[] stack = new int[64];
+        int sp = 0;
+        stack[sp++] = start;
+        int count = 0;
+
+        while (sp > 0) {
+            int seed = stack[--sp];
+            if (data[seed] != oldV) continue;      // filled by an earlier run
+            int x = seed / h, base = x * h;
+
+            // Grow the run lo .. lo+len-1 (mod h on a cyclic map) around the seed.
+            data[seed] = newV;
+            int lo = seed - base, hi = lo, len = 1;
+            while (true) {
+                int p = lo > 0 ? lo - 1 : (cyclic ? h - 1 : -1);
+                if (p < 0 || data[base + p] != oldV) break;
+                data[base + p] = newV;
+                lo = p;
+                len++;
+            }
+            while (true) {
+                int n = hi < h - 1 ? hi + 1 : (cyclic ? 0 : -1);
+                if (n < 0 || data[base + n] != oldV) break;
+                data[base + n] = newV;
+                hi = n;
+                len++;
+            }
+            count += len;
+
+            // One seed per old-valued sub-run of each neighboring column.
+            for (int side = -1; side <= 1; side += 2) {
+                int nx = x + side;
+                if (nx < 0 || nx >= w) {
+                    if (!cyclic) continue;
+                    nx = (nx + w) % w;
+                }
+                int nBase = nx * h;
+                boolean inRun = false;
+                for (int i = 0, y = lo; i < len; i++, y = (y == h - 1) ? 0 : y + 1) {
+                    boolean match = data[nBase + y] == oldV;
+                    if (match && !inRun) {
+                        if (sp == stack.length) stack = Arrays.copyOf(stack, sp * 2);
+                        stack[sp++] = nBase + y;
+                    }
+                    inRun = match;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Parallel tile fill of the 4-connected component of {@code start}.
+     *
+     * @param tileCells approximate number of cells per sequential tile (at least one column)
+     * @return number of cells changed
+     */
+    static int parallel(int[] data, int w, int h, boolean cyclic, int start, int newV, int tileCells) {
+        int oldV = data[start];
+        if (oldV == newV) return 0;
+
+        int[] parent = TileUnionFind.label(data, w, h, cyclic, oldV, true, tileCells);
+        int root = TileUnionFind.root(parent, start);
+        int cols = TileUnionFind.tileCols(h, tileCells);
+        return IntStream.range(0, (w + cols - 1) / cols).parallel().map(t -> {
+            int count = 0;
+            for (int i = t * cols * h, end = Math.min(w, (t + 1) * cols) * h; i < end; i++) {
+                if (parent[i] >= 0 && TileUnionFind.root(parent, i) == root) {
+                    data[i] = newV;
+                    count++;
+                }
+            }
+            return count;
+        }).sum();
+    }
+}
@@ -0,0 +1,30 @@
+package assignments;
+
+/**
+ * Optional extension of GhostCL for games whose ghosts do not step on every Pac-Man move.
+ *
+ * OVERVIEW
+ * --------
+ * GhostCL reports where a ghost is, but not how fast it moves. A ghost that also implements
+ * this interface reports its pace in Pac-Man moves, so an algorithm can turn maze distances
+ * into arrival times (see {@link InterceptField}). Algorithms check for it with instanceof
+ * and otherwise assume that a ghost steps once per move.
+ *
+ * A ghost still in its house reports its release delay as the wait for its next step.
+ * Ghosts walk out of the house at one cell per move, so until they are released the
+ * reported pace is one move per step.
+ */
+public interface GhostTiming {
+
+    /**
+     * @param code engine-specific code (same meaning as in getPos)
+     * @return Pac-Man moves between two steps of the ghost, at least 1
+     */
+    int movesPerStep(int code);
+
+    /**
+     * @param code engine-specific code (same meaning as in getPos)
+     * @return Pac-Man moves until the ghost can take its next step, at least 1
+     */
+    int movesUntilNextStep(int code);
+}
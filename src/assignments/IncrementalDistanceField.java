@@ -0,0 +1,277 @@
+package assignments;
+
+import java.util.Arrays;
+
+/**
+ * Multi-source distance field that is repaired incrementally when the sources move.
+ *
+ * OVERVIEW
+ * --------
+ * The field holds, for every cell of a {@link Map}, the BFS distance to the nearest source
+ * (the same values as {@link Map#allDistanceMulti}). Sources are given per slot (e.g. one
+ * slot per ghost). Between two updates a slot usually moves by at most one cell, so only
+ * the region whose nearest source changed is recomputed:
+ *
+ * 1. Removed sources: every cell whose shortest-path support depended only on removed
+ *    sources is invalidated (processed in distance order), then the invalid region is
+ *    recomputed from its valid border with a bucketed Dijkstra (unit weights).
+ * 2. Added sources: a decrease-only BFS from the new sources lowers distances where needed.
+ *
+ * Shortest distances are unique, so the repaired field is bit-identical to a fresh rebuild.
+ *
+ * FULL REBUILD
+ * ------------
+ * The field falls back to a full multi-source BFS when:
+ * it is used for the first time, the number of slots changes, or a slot "teleports",
+ * i.e. moves to a cell that is neither its previous cell nor one of its maze neighbors
+ * (eaten ghost sent home, respawn, or a border jump on a non-cyclic map).
+ * On a cyclic map a step across the border is a regular neighbor step.
+ *
+ * The field is bound to the walls of its map at construction time; create a new field
+ * when the walls change. Not thread-safe.
+ */
+public class IncrementalDistanceField {
+
+    private final Map _map;
+    private final int _obsColor;
+    private final int _w, _h;
+    private final Adjacency _adj;    // neighbor table of the map's walls
+
+    private final int[] _dist;       // distance per cell, -1 for obstacles and unreachable cells
+    private final int[] _srcCount;   // number of slots sitting on each cell
+    private final boolean[] _invalid;
+    private final int[] _queue;
+    private final int[] _list;       // invalidated cells of the removal repair
+    private final long[] _seeds;     // (tentative distance << 32 | cell) for the repair phase
+
+    private int[] _slots = null;     // slot -> cell, or -1 for no source
+    private int[] _changed = null;   // cells whose source count changed in an update (2 per slot)
+    private int _fullRebuilds;
+
+    /**
+     * @param map      map to search (its walls must not change while the field is used)
+     * @param obsColor obstacle value
+     */
+    public IncrementalDistanceField(Map map, int obsColor) {
+        _map = map;
+        _obsColor = obsColor;
+        _w = map.getWidth();
+        _h = map.getHeight();
+        _adj = map.adjacency(obsColor);
+        int n = _w * _h;
+        _dist = new int[n];
+        _srcCount = new int[n];
+        _invalid = new boolean[n];
+        _queue = new int[n];
+        _list = new int[n];
+        _seeds = new long[n];
+    }
+
+    /**
+     * Moves the sources and repairs the field.
+     * A null slot, or a slot outside the map or on an obstacle, holds no source.
+     *
+     * @param sources source pixel per slot
+     * @return the live distance buffer (flat x*h+y, -1 where no source can reach)
+     */
+    public int[] update(Pixel2D[] sources) {
+        if (sources == null) throw new RuntimeException("Sources array is null");
+        if (_slots == null || _slots.length != sources.length || teleported(sources)) {
+            rebuild(sources);
+            return _dist;
+        }
+
+        // Apply the slot moves to the per-cell source counts and collect changed cells
+        int changed = 0;
+        for (int s = 0; s < _slots.length; s++) {
+            int c = _slots[s];
+            if (c >= 0 && --_srcCount[c] == 0) _changed[changed++] = c;
+        }
+        for (int s = 0; s < _slots.length; s++) {
+            int c = cellOf(sources[s]);
+            _slots[s] = c;
+            if (c >= 0 && _srcCount[c]++ == 0 && _dist[c] != 0) _changed[changed++] = c;
+        }
+
+        // Removed: was a source (distance 0) and no slot is left on it
+        int removed = 0;
+        for (int i = 0; i < changed; i++) {
+            int c = _changed[i];
+            if (_srcCount[c] == 0 && _dist[c] == 0) _queue[removed++] = c;
+        }
+        if (removed > 0) repairRemoved(removed);
+
+        // Added: a slot sits on a cell that is not yet at distance 0
+        int added = 0;
+        for (int i = 0; i < changed; i++) {
+            int c = _changed[i];
+            if (_srcCount[c] > 0 && _dist[c] != 0) {
+                _dist[c] = 0;
+                _queue[added++] = c;
+            }
+        }
+        if (added > 0) relaxFrom(0, added);
+        return _dist;
+    }
+
+    /** @return the live distance buffer of the last update. */
+    public int[] distances() {
+        return _dist;
+    }
+
+    /** @return the map this field was built for. */
+    public Map map() {
+        return _map;
+    }
+
+    /** @return how many updates fell back to a full rebuild. */
+    public int fullRebuilds() {
+        return _fullRebuilds;
+    }
+
+    // ----------------- full rebuild -----------------
+
+    private void rebuild(Pixel2D[] sources) {
+        _fullRebuilds++;
+        Arrays.fill(_srcCount, 0);
+        _slots = new int[sources.length];
+        _changed = new int[2 * sources.length];
+        for (int s = 0; s < sources.length; s++) {
+            int c = cellOf(sources[s]);
+            _slots[s] = c;
+            if (c >= 0) _srcCount[c]++;
+        }
+        int[] d = _map.allDistanceMulti(sources, _obsColor);
+        System.arraycopy(d, 0, _dist, 0, _dist.length);
+    }
+
+    /** @return true iff some slot moved farther than one maze step. */
+    private boolean teleported(Pixel2D[] sources) {
+        for (int s = 0; s < _slots.length; s++) {
+            int from = _slots[s], to = cellOf(sources[s]);
+            if (from < 0 || to < 0 || from == to) continue;
+            boolean step = false;
+            for (int k = 0; k < 4 && !step; k++) step = (neighbor(from, k) == to);
+            if (!step) return true;
+        }
+        return false;
+    }
+
+    // ----------------- removal repair -----------------
+
+    /**
+     * Invalidates every cell supported only by the removed sources (queue[0, removed)),
+     * then recomputes the invalid region from its valid border.
+     */
+    private void repairRemoved(int removed) {
+        int[] dist = _dist, q = _queue;
+        boolean[] invalid = _invalid;
+
+        // 1) Invalidate in nondecreasing distance order (FIFO from distance-0 cells)
+        int head = 0, tail = removed;
+        for (int i = 0; i < removed; i++) invalid[q[i]] = true;
+        while (head < tail) {
+            int u = q[head++];
+            int next = dist[u] + 1;
+            for (int k = 0; k < 4; k++) {
+                int v = neighbor(u, k);
+                if (v < 0 || invalid[v] || dist[v] != next) continue;
+                if (!hasValidParent(v)) {
+                    invalid[v] = true;
+                    q[tail++] = v;
+                }
+            }
+        }
+        int count = tail;
+        System.arraycopy(q, 0, _list, 0, count);
+
+        // 2) Tentative distance from the valid border; then merge sorted seeds with a FIFO queue
+        int seeds = 0;
+        for (int i = 0; i < count; i++) {
+            int c = _list[i];
+            int best = -1;
+            for (int k = 0; k < 4; k++) {
+                int v = neighbor(c, k);
+                if (v < 0 || invalid[v] || dist[v] < 0) continue;
+                if (best < 0 || dist[v] + 1 < best) best = dist[v] + 1;
+            }
+            dist[c] = best;
+            if (best >= 0) _seeds[seeds++] = ((long) best << 32) | c;
+        }
+        Arrays.sort(_seeds, 0, seeds);
+
+        int si = 0;
+        head = 0;
+        tail = 0;
+        while (si < seeds || head < tail) {
+            int u;
+            if (head < tail && (si >= seeds || dist[q[head]] < (int) (_seeds[si] >>> 32))) {
+                u = q[head++];
+            } else {
+                long e = _seeds[si++];
+                u = (int) e;
+                if (dist[u] != (int) (e >>> 32)) continue; // improved after seeding
+            }
+            int nd = dist[u] + 1;
+            for (int k = 0; k < 4; k++) {
+                int v = neighbor(u, k);
+                if (v < 0 || !invalid[v]) continue;
+                if (dist[v] < 0 || dist[v] > nd) {
+                    dist[v] = nd;
+                    q[tail++] = v;
+                }
+            }
+        }
+
+        for (int i = 0; i < count; i++) invalid[_list[i]] = false;
+    }
+
+    /** @return true iff v has a valid neighbor exactly one step closer to a source. */
+    private boolean hasValidParent(int v) {
+        int want = _dist[v] - 1;
+        for (int k = 0; k < 4; k++) {
+            int u = neighbor(v, k);
+            if (u >= 0 && !_invalid[u] && _dist[u] == want) return true;
+        }
+        return false;
+    }
+
+    // ----------------- addition repair -----------------
+
+    /** Decrease-only BFS from queue[head, tail). */
+    private void relaxFrom(int head, int tail) {
+        int[] dist = _dist, q = _queue;
+        while (head < tail) {
+            int u = q[head++];
+            int nd = dist[u] + 1;
+            for (int k = 0; k < 4; k++) {
+                int v = neighbor(u, k);
+                if (v < 0) continue;
+                if (dist[v] < 0 || dist[v] > nd) {
+                    dist[v] = nd;
+                    q[tail++] = v;
+                }
+            }
+        }
+    }
+
+    // ----------------- grid helpers -----------------
+
+    /** @return flat index of p, or -1 if p is null, outside or an obstacle. */
+    private int cellOf(Pixel2D p) {
+        if (p == null) return -1;
+        int x = p.getX(), y = p.getY();
+        if (x < 0 || x >= _w || y < 0 || y >= _h) return -1;
+        int c = x * _h + y;
+        return _map.getAt(c) == _obsColor ? -1 : c;
+    }
+
+    /**
+     * @param cur flat cell index
+     * @param k   neighbor number in Map order (0: y-1, 1: x-1, 2: y+1, 3: x+1)
+     * @return flat index of the neighbor, or -1 if it is outside or an obstacle
+     */
+    private int neighbor(int cur, int k) {
+        return _adj.neighbor(cur, k);
+    }
+}
@@ -0,0 +1,81 @@
+package assignments;
+
+import java.util.Arrays;
+
+/**
+ * Earliest time, in Pac-Man moves, at which any ghost can reach each cell.
+ *
+ * OVERVIEW
+ * --------
+ * A ghost that steps every {@code period} moves and takes its next step in {@code first}
+ * moves reaches a cell at maze distance d >= 1 after first + (d - 1) * period moves, and is
+ * on its own cell at time 0 (see {@link #arrival}). With first = period = 1 this is the
+ * plain BFS distance. The field holds, per cell, the minimum over all ghosts.
+ *
+ * Ghosts with different paces cannot share one multi-source BFS: a slow ghost that reaches
+ * a cell first must not hide a faster ghost behind it. The distances of each ghost are read
+ * separately, from the map's distance table when it has one (one lookup per cell), else
+ * from a BFS. There are only a few ghosts, so this stays cheap.
+ *
+ * The field is bound to the walls of its map at construction time; create a new field
+ * when the walls change. Not thread-safe.
+ */
+public final class InterceptField {
+
+    private final Map _map;
+    private final int _obsColor;
+    private final int[] _time;     // arrival per cell, -1 for obstacles and cells no ghost reaches
+
+    /**
+     * @param map      map to search (its walls must not change while the field is used)
+     * @param obsColor obstacle value
+     */
+    public InterceptField(Map map, int obsColor) {
+        _map = map;
+        _obsColor = obsColor;
+        _time = new int[map.getWidth() * map.getHeight()];
+    }
+
+    /** @return the map this field was built for */
+    public Map map() {
+        return _map;
+    }
+
+    /**
+     * Recomputes the field.
+     *
+     * @param ghosts ghost cells; null, outside and obstacle entries are skipped
+     * @param first  per ghost, moves until its next step (at least 1)
+     * @param period per ghost, moves between two of its steps (at least 1)
+     * @return arrival per flat cell x*h+y (-1 if no ghost reaches it); reused by the next update
+     */
+    public int[] update(Pixel2D[] ghosts, int[] first, int[] period) {
+        int[] time = _time;
+        Arrays.fill(time, -1);
+        for (int g = 0; g < ghosts.length; g++) {
+            Pixel2D p = ghosts[g];
+            if (p == null || !_map.isInside(p) || _map.getPixel(p) == _obsColor) continue;
+            // Both the table row and the BFS view are DistanceViews
+            DistanceView dist = (DistanceView) _map.allDistanceView(p, _obsColor);
+            int f = first[g], s = period[g];
+            for (int i = 0; i < time.length; i++) {
+                int d = dist.valueAt(i);
+                if (d < 0) continue;
+                int t = arrival(d, f, s);
+                if (time[i] < 0 || t < time[i]) time[i] = t;
+            }
+        }
+        return time;
+    }
+
+    /**
+     * @param d      maze distance from the ghost
+     * @param first  moves until the ghost's next step
+     * @param period moves between two steps
+     * @return moves until the ghost can be d cells away
+     */
+    public static int arrival(int d, int first, int period) {
+        if (d == 0) return 0;
+        return (int) Math.min(Integer.MAX_VALUE, first + (long) (d - 1) * period);
+    }
+}
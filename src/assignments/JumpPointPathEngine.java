@@ -0,0 +1,185 @@
+package assignments;
+
+import java.util.Arrays;
+
+/**
+ * Jump Point Search path engine for 4-connected uniform grids.
+ *
+ * OVERVIEW
+ * --------
+ * A* over jump points instead of over every cell. From an expanded cell the search "jumps"
+ * in a straight line and only stops (creates a node) at cells where the shortest paths may
+ * turn: the goal, or a cell with a forced neighbor. Long straight runs through open rooms
+ * therefore cost no heap operations.
+ *
+ * 4-CONNECTED RULES
+ * -----------------
+ * Canonical paths move vertically first and then horizontally.
+ * Horizontal jump: stops at the goal, or where a vertical neighbor is open while the same
+ * neighbor of the previous cell is blocked (a forced neighbor).
+ * Vertical jump: same forced-neighbor test with the horizontal neighbors, and additionally
+ * stops where a horizontal scan to either side would reach a jump point.
+ * Successors: the start expands in all 4 directions; a node reached horizontally continues
+ * horizontally and tries both vertical directions; a node reached vertically continues
+ * vertically and tries both horizontal directions.
+ *
+ * CYCLIC MAPS
+ * -----------
+ * Steps wrap around the borders as documented in Map2D. A jump around a fully open cyclic
+ * row or column ends when it comes back to the cell it started from.
+ *
+ * Cells are flat indices x*h+y; costs, parents and incoming directions live in reusable int[]
+ * buffers validated by a per-search stamp. The returned path is expanded cell by cell.
+ */
+public class JumpPointPathEngine implements PathEngine {
+
+    // Directions in Map neighbor order: 0: y-1, 1: x-1, 2: y+1, 3: x+1
+    private static final int[] BACK = {2, 3, 0, 1};
+
+    private int[] _g = new int[0];
+    private int[] _parent = new int[0];
+    private int[] _dir = new int[0];      // direction of the jump that reached the cell, -1 for the start
+    private int[] _seen = new int[0];
+    private int[] _closed = new int[0];
+    private final LongMinHeap _open = new LongMinHeap();
+    private int _stamp = 0;
+
+    // Current search
+    private int[] _data;
+    private int _obs, _w, _h, _goal;
+    private boolean _cyclic;
+
+    @Override
+    public Pixel2D[] shortestPath(Map map, int from, int to, int obsColor) {
+        _data = map.data();
+        _obs = obsColor;
+        _w = map.getWidth();
+        _h = map.getHeight();
+        _cyclic = map.isCyclic();
+        _goal = to;
+        prepare(_w * _h);
+        int stamp = _stamp;
+        int[] g = _g, parent = _parent, dir = _dir, seen = _seen, closed = _closed;
+
+        seen[from] = stamp;
+        g[from] = 0;
+        parent[from] = -1;
+        dir[from] = -1;
+        _open.clear();
+        _open.push(((long) heuristic(from) << 32) | from);
+
+        while (!_open.isEmpty()) {
+            int cur = (int) _open.pop();
+            if (closed[cur] == stamp) continue;
+            closed[cur] = stamp;
+            if (cur == to) return build(from, to);
+
+            int in = dir[cur];
+            for (int k = 0; k < 4; k++) {
+                if (in >= 0 && k == BACK[in]) continue;   // never straight back
+                long r = jump(cur, k);
+                if (r < 0) continue;
+                int nb = (int) r;
+                int ng = g[cur] + (int) (r >>> 32);
+                if (closed[nb] == stamp || (seen[nb] == stamp && g[nb] <= ng)) continue;
+                seen[nb] = stamp;
+                g[nb] = ng;
+                parent[nb] = cur;
+                dir[nb] = k;
+                _open.push(((long) (ng + heuristic(nb)) << 32) | nb);
+            }
+        }
+        return null;
+    }
+
+    // ----------------- jumps -----------------
+
+    /**
+     * Jumps from {@code from} in direction k.
+     *
+     * @return (steps << 32 | cell) of the jump point reached, or -1 if the line ends first
+     */
+    private long jump(int from, int k) {
+        boolean horizontal = (k & 1) == 1;
+        int prev = from;
+        int c = step(from, k);
+        for (int len = 1; c >= 0 && c != from; len++) {
+            if (c == _goal) return ((long) len << 32) | c;
+            if (horizontal) {
+                if (forced(c, prev, 0) || forced(c, prev, 2)) return ((long) len << 32) | c;
+            } else {
+                if (forced(c, prev, 1) || forced(c, prev, 3)) return ((long) len << 32) | c;
+                if (scan(c, 1) || scan(c, 3)) return ((long) len << 32) | c;
+            }
+            prev = c;
+            c = step(c, k);
+        }
+        return -1;
+    }
+
+    /** @return true iff a horizontal jump from c in direction k would reach a jump point. */
+    private boolean scan(int c0, int k) {
+        int prev = c0;
+        int c = step(c0, k);
+        while (c >= 0 && c != c0) {
+            if (c == _goal || forced(c, prev, 0) || forced(c, prev, 2)) return true;
+            prev = c;
+            c = step(c, k);
+        }
+        return false;
+    }
+
+    /** @return true iff the side neighbor of c is open while the same neighbor of prev is blocked. */
+    private boolean forced(int c, int prev, int side) {
+        return step(c, side) >= 0 && step(prev, side) < 0;
+    }
+
+    /** @return the open neighbor of c in direction k, or -1 if it is outside or an obstacle. */
+    private int step(int c, int k) {
+        int x = c / _h;
+        int nb = Paths.neighbor(c, x, c - x * _h, k, _w, _h, _cyclic);
+        return (nb >= 0 && _data[nb] != _obs) ? nb : -1;
+    }
+
+    private int heuristic(int c) {
+        int x = c / _h, gx = _goal / _h;
+        return AStarPathEngine.heuristic(x, c - x * _h, gx, _goal - gx * _h, _w, _h, _cyclic);
+    }
+
+    // ----------------- path / buffers -----------------
+
+    /** Expands the jump-point chain into consecutive cells. */
+    private Pixel2D[] build(int from, int to) {
+        int h = _h;
+        Pixel2D[] path = new Pixel2D[_g[to] + 1];
+        int i = path.length - 1;
+        for (int c = to; c != from; c = _parent[c]) {
+            int back = BACK[_dir[c]];
+            int steps = _g[c] - _g[_parent[c]];
+            int cell = c;
+            for (int s = 0; s < steps; s++) {
+                path[i--] = Cells.pixel(cell, h);
+                int x = cell / h;
+                cell = Paths.neighbor(cell, x, cell - x * h, back, _w, h, _cyclic);
+            }
+        }
+        path[0] = Cells.pixel(from, h);
+        return path;
+    }
+
+    private void prepare(int n) {
+        if (_g.length < n) {
+            _g = new int[n];
+            _parent = new int[n];
+            _dir = new int[n];
+            _seen = new int[n];
+            _closed = new int[n];
+            _stamp = 0;
+        }
+        if (++_stamp == 0) {
+            Arrays.fill(_seen, 0);
+            Arrays.fill(_closed, 0);
+            _stamp = 1;
+        }
+    }
+}
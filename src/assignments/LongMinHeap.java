@@ -0,0 +1,53 @@
+package assignments;
+
+import java.util.Arrays;
+
+/**
+ * Growable binary min-heap of primitive longs, used as the open set of the path engines.
+ * Entries are packed as (priority << 32 | cell), so the natural long order is the priority order.
+ */
+final class LongMinHeap {
+
+    private long[] _heap = new long[16];
+    private int _size;
+
+    /** Removes every entry (keeps the buffer). */
+    void clear() {
+        _size = 0;
+    }
+
+    boolean isEmpty() {
+        return _size == 0;
+    }
+
+    void push(long e) {
+        if (_size == _heap.length) _heap = Arrays.copyOf(_heap, _size * 2);
+        long[] heap = _heap;
+        int i = _size++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= e) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = e;
+    }
+
+    /** @return the smallest entry, removed from the heap */
+    long pop() {
+        long[] heap = _heap;
+        long top = heap[0];
+        long e = heap[--_size];
+        int size = _size, i = 0;
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= size) break;
+            if (c + 1 < size && heap[c + 1] < heap[c]) c++;
+            if (e <= heap[c]) break;
+            heap[i] = heap[c];
+            i = c;
+        }
+        if (size > 0) heap[i] = e;
+        return top;
+    }
+}
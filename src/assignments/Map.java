@@ -1,18 +1,38 @@
 package assignments;
 
-import java.util.ArrayList;
-import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Represents a 2D integer map.
  * Provides basic pixel access and BFS-based algorithms:
  * flood-fill, shortest path and all-distances.
+ *
+ * The raster is stored in a single flat int[] in row-major order of the
+ * [x][y] matrix: cell (x,y) lives at index x*h+y. Width and height are cached,
+ * so the BFS loops can address cells through the unchecked package-private
+ * accessors without going through the bounds checks of the public API.
  * @author maayan.cohen
  *
  */
 public class Map implements Map2D {
-    private int[][] _map;
+    /**
+     * Default map size, in cells, from which fill and labelComponents run in parallel: 4M
+     * cells, or never when the common fork-join pool has a single thread (where the tiles
+     * only add the union-find overhead).
+     */
+    public static final int DEFAULT_PARALLEL_CELLS =
+            ForkJoinPool.getCommonPoolParallelism() > 1 ? 1 << 22 : Integer.MAX_VALUE;
+
+    private int[] _data;
+    private int _w, _h;
     private boolean _cyclicFlag = true;
+    private BfsEngine _bfs;
+    private DistanceTable _table;
+    private DistanceTable.RowView _tableView;
+    private Adjacency _adjCyclic, _adjFlat;   // neighbor tables per cyclic mode
+    private PathEngine _pathEngine;
+    private int _parallelCells = DEFAULT_PARALLEL_CELLS;
 
     /**
      * Constructs a w*h raster map initialized with value v.
@@ -54,12 +74,12 @@ public class Map implements Map2D {
     @Override
     public void init(int w, int h, int v) {
         if (w <= 0 || h <= 0) throw new RuntimeException("Width and height must be positive");
-        _map = new int[w][h];
-        for (int x = 0; x < w; x++) {
-            for (int y = 0; y < h; y++) {
-                _map[x][y] = v;
-            }
-        }
+        _table = null;
+        _adjCyclic = _adjFlat = null;
+        _data = new int[w * h];
+        _w = w;
+        _h = h;
+        if (v != 0) Arrays.fill(_data, v);
     }
 
     /**
@@ -81,11 +101,13 @@ public class Map implements Map2D {
                 throw new RuntimeException("Array must be rectangular (same length for all rows)");
             }
         }
-        _map = new int[w][h];
+        _table = null;
+        _adjCyclic = _adjFlat = null;
+        _data = new int[w * h];
+        _w = w;
+        _h = h;
         for (int x = 0; x < w; x++) {
-            for (int y = 0; y < h; y++) {
-                _map[x][y] = arr[x][y];
-            }
+            System.arraycopy(arr[x], 0, _data, x * h, h);
         }
     }
 
@@ -96,12 +118,9 @@ public class Map implements Map2D {
     @Override
     public int[][] getMap() {
         checkMapInitialized();
-        int w = getWidth(), h = getHeight();
-        int[][] ans = new int[w][h];
-        for (int x = 0; x < w; x++) {
-            for (int y = 0; y < h; y++) {
-                ans[x][y] = _map[x][y];
-            }
+        int[][] ans = new int[_w][_h];
+        for (int x = 0; x < _w; x++) {
+            System.arraycopy(_data, x * _h, ans[x], 0, _h);
         }
         return ans;
     }
@@ -113,7 +132,7 @@ public class Map implements Map2D {
     @Override
     public int getWidth() {
         checkMapInitialized();
-        return _map.length;
+        return _w;
     }
 
     /**
@@ -123,8 +142,7 @@ public class Map implements Map2D {
     @Override
     public int getHeight() {
         checkMapInitialized();
-        if (_map.length == 0) throw new RuntimeException("Map width 0");
-        return _map[0].length;
+        return _h;
     }
 
     /**
@@ -139,7 +157,7 @@ public class Map implements Map2D {
     public int getPixel(int x, int y) {
         checkMapInitialized();
         if (!isInsideXY(x, y)) throw new RuntimeException("Pixel (" + x + "," + y + ") is out of bounds");
-        return _map[x][y];
+        return _data[x * _h + y];
     }
 
     /**
@@ -168,7 +186,10 @@ public class Map implements Map2D {
     public void setPixel(int x, int y, int v) {
         checkMapInitialized();
         if (!isInsideXY(x, y)) throw new RuntimeException("Pixel (" + x + "," + y + ") is out of bounds");
-        _map[x][y] = v;
+        int i = x * _h + y;
+        if (_table != null && changesObstacle(_data[i], v, _table.getObsColor())) _table = null;
+        dropAdjacency(_data[i], v);
+        _data[i] = v;
     }
 
     /**
@@ -186,10 +207,13 @@ public class Map implements Map2D {
     }
 
     /**
-     * Flood-fill (BFS) starting from {@code xy}.
+     * Flood-fill starting from {@code xy}.
      * Replaces all 4-connected cells having the same value as {@code xy}
      * with {@code new_v}. Cyclic wrapping is respected if enabled.
      *
+     * Maps smaller than the parallel threshold (see {@link #setParallelThreshold}) use a
+     * scanline fill. Larger maps use the parallel tile fill. Both change the same cells.
+     *
      * @param xy start pixel
      * @param new_v new value to assign
      * @return number of pixels changed
@@ -199,30 +223,50 @@ public class Map implements Map2D {
         requirePixel(xy);
         if (!isInside(xy)) return 0;
 
-        int old_v = getPixel(xy);
+        int start = indexOf(xy.getX(), xy.getY());
+        int old_v = _data[start];
         if (old_v == new_v) return 0;
 
-        int w = getWidth(), h = getHeight();
-        boolean[][] visited = new boolean[w][h];
-
-        ArrayDeque<Pixel2D> q = new ArrayDeque<>();
-        q.addLast(new Index2D(xy));
-        visited[xy.getX()][xy.getY()] = true;
-
-        int count = 0;
+        int count = (_data.length >= _parallelCells)
+                ? FloodFill.parallel(_data, _w, _h, _cyclicFlag, start, new_v, TileUnionFind.TILE_CELLS)
+                : FloodFill.scanline(_data, _w, _h, _cyclicFlag, start, new_v);
+        if (_table != null && changesObstacle(old_v, new_v, _table.getObsColor())) _table = null;
+        dropAdjacency(old_v, new_v);
+        return count;
+    }
 
-        while (!q.isEmpty()) {
-            Pixel2D p = q.removeFirst();
-            if (getPixel(p) != old_v) continue;
+    /**
+     * Labels the 4-connected components of the non-obstacle cells in one linear pass.
+     * Cyclic wrapping is respected if enabled.
+     *
+     * Maps of at least the parallel threshold (see {@link #setParallelThreshold}) are
+     * labeled with a parallel union-find over column tiles. The labels are the same either way.
+     *
+     * @param obsColor obstacle value
+     * @return label field and component sizes
+     */
+    public Components labelComponents(int obsColor) {
+        checkMapInitialized();
+        return (_data.length >= _parallelCells)
+                ? Components.labelParallel(_data, _w, _h, _cyclicFlag, obsColor, TileUnionFind.TILE_CELLS)
+                : Components.label(_data, _w, _h, _cyclicFlag, obsColor);
+    }
 
-            setPixel(p, new_v);
-            count++;
+    /**
+     * Sets the map size, in cells, from which fill and labelComponents use their parallel
+     * tile versions. The tiles visit every cell of the map, so a parallel fill only pays off
+     * for large fills on very large maps.
+     *
+     * @param cells threshold; 0 always uses the tiles, Integer.MAX_VALUE never does
+     */
+    public void setParallelThreshold(int cells) {
+        if (cells < 0) throw new RuntimeException("Threshold must be non-negative: " + cells);
+        _parallelCells = cells;
+    }
 
-            for (Pixel2D nb : neighbors4(p)) {
-                enqueueIfMatch(nb, old_v, visited, q);
-            }
-        }
-        return count;
+    /** @return the map size, in cells, from which fill and labelComponents run in parallel */
+    public int getParallelThreshold() {
+        return _parallelCells;
     }
 
     /**
@@ -230,6 +274,9 @@ public class Map implements Map2D {
      * Cells with value {@code obsColor} are treated as obstacles.
      * Cyclic wrapping is respected if enabled.
      *
+     * If a path engine is set (see {@link #setPathEngine}), the search itself is delegated
+     * to it; the result has the same length, but may be a different shortest path.
+     *
      * @param p1 start pixel
      * @param p2 target pixel
      * @param obsColor obstacle value
@@ -241,37 +288,47 @@ public class Map implements Map2D {
         requirePixel(p2);
 
         if (!isWalkable(p1, obsColor) || !isWalkable(p2, obsColor)) return null;
-        if (p1.equals(p2)) return new Pixel2D[]{ new Index2D(p1) };
-
-        int w = getWidth(), h = getHeight();
-        boolean[][] visited = new boolean[w][h];
-        Pixel2D[][] parent = new Pixel2D[w][h];
-
-        ArrayDeque<Pixel2D> q = new ArrayDeque<>();
-        q.addLast(new Index2D(p1));
-        visited[p1.getX()][p1.getY()] = true;
-
-        while (!q.isEmpty()) {
-            Pixel2D cur = q.removeFirst();
-
-            for (Pixel2D nb : neighbors4(cur)) {
-                if (!isWalkable(nb, obsColor)) continue;
-
-                int x = nb.getX(), y = nb.getY();
-                if (visited[x][y]) continue;
-
-                visited[x][y] = true;
-                parent[x][y] = cur;
-
-                if (nb.equals(p2)) {
-                    return buildPath(p1, p2, parent);
-                }
-                q.addLast(new Index2D(nb));
+        int from = indexOf(p1.getX(), p1.getY()), to = indexOf(p2.getX(), p2.getY());
+        if (from == to) return new Pixel2D[]{ new Index2D(p1) };
+        if (_pathEngine != null) return _pathEngine.shortestPath(this, from, to, obsColor);
+
+        // BFS over flat cells; parent[c] == -1 marks unvisited cells.
+        Adjacency adj = adjacency(obsColor);
+        int[] parent = new int[_w * _h];
+        Arrays.fill(parent, -1);
+        int[] q = new int[_w * _h];
+        parent[from] = from;
+        q[0] = from;
+        int head = 0, tail = 1;
+
+        while (head < tail) {
+            int cur = q[head++];
+            for (int k = 0; k < 4; k++) {
+                int nb = adj.neighbor(cur, k);
+                if (nb < 0 || parent[nb] != -1) continue;
+                parent[nb] = cur;
+                if (nb == to) return Paths.build(parent, from, to, _h);
+                q[tail++] = nb;
             }
         }
         return null;
     }
 
+    /**
+     * Selects the search used by shortestPath, e.g. {@link AStarPathEngine} or
+     * {@link BidirectionalBfsPathEngine} for large mazes.
+     *
+     * @param engine path engine, or null for the built-in BFS
+     */
+    public void setPathEngine(PathEngine engine) {
+        _pathEngine = engine;
+    }
+
+    /** @return the path engine used by shortestPath, or null for the built-in BFS */
+    public PathEngine getPathEngine() {
+        return _pathEngine;
+    }
+
     /**
      * Computes the shortest distance from {@code start} to all reachable cells using BFS.
      * Obstacle cells (with value {@code obsColor}) are ignored.
@@ -285,29 +342,184 @@ public class Map implements Map2D {
         requirePixel(start);
         if (!isInside(start)) return null;
 
-        Map ans = new Map(getWidth(), getHeight(), -1);
+        Map ans = new Map(_w, _h, 0);
         ans.setCyclic(isCyclic());
 
-        if (getPixel(start) == obsColor) return ans;
+        DistanceTable t = tableFor(obsColor);
+        if (t != null) {
+            DistanceView row = tableView(t, start);
+            for (int i = 0; i < ans._data.length; i++) ans._data[i] = row.valueAt(i);
+            return ans;
+        }
+
+        int[] dist = bfs().run(this, indexOf(start.getX(), start.getY()), obsColor);
+        System.arraycopy(dist, 0, ans._data, 0, _w * _h);
+        return ans;
+    }
 
-        ArrayDeque<Pixel2D> q = new ArrayDeque<>();
-        q.addLast(new Index2D(start));
-        ans.setPixel(start, 0);
+    /**
+     * Same as {@link #allDistance(Pixel2D, int)}, but returns a read-only view over a
+     * buffer owned by this map instead of a new Map. Once warmed up this makes no allocations.
+     *
+     * The returned view is overwritten by the next allDistanceView or allDistanceMulti call
+     * on this map. The bounded searches (nearestWithValue, distanceToNearest, distance,
+     * distanceToAny) use a separate buffer and leave it intact.
+     *
+     * @param start start pixel
+     * @param obsColor obstacle value
+     * @return distance view (-1 for obstacles and unreachable cells), or null if start is outside
+     */
+    public Map2D allDistanceView(Pixel2D start, int obsColor) {
+        requirePixel(start);
+        DistanceTable t = tableFor(obsColor);
+        if (t != null) return isInside(start) ? tableView(t, start) : null;
+        return bfs().allDistance(this, start, obsColor);
+    }
 
-        while (!q.isEmpty()) {
-            Pixel2D cur = q.removeFirst();
-            int d = ans.getPixel(cur);
+    /**
+     * Multi-source BFS: computes, for every cell, the distance to the nearest of {@code sources}
+     * in a single pass (all sources are seeded at distance 0).
+     * Sources that are null, outside the map or obstacles are ignored.
+     *
+     * The result is a buffer owned by this map (flat x*h+y layout, at least w*h entries),
+     * overwritten by the next allDistanceView or allDistanceMulti call on this map.
+     *
+     * @param sources source pixels
+     * @param obsColor obstacle value
+     * @return distance buffer (-1 for obstacles and cells no source can reach)
+     */
+    public int[] allDistanceMulti(Pixel2D[] sources, int obsColor) {
+        checkMapInitialized();
+        if (sources == null) throw new RuntimeException("Sources array is null");
+        return bfs().runMulti(this, sources, obsColor);
+    }
 
-            for (Pixel2D nb : neighbors4(cur)) {
-                if (!isInside(nb)) continue;
-                if (getPixel(nb) == obsColor) continue;
-                if (ans.getPixel(nb) != -1) continue;
+    /**
+     * Finds the nearest cell (by maze distance) that holds {@code value}.
+     * The search stops at the first such cell instead of exploring the whole maze.
+     * Among cells at the same distance the first one in x-then-y order wins.
+     *
+     * @param start    start pixel
+     * @param value    value to look for
+     * @param obsColor obstacle value
+     * @param maxDist  radius cap (Integer.MAX_VALUE for none)
+     * @return the nearest matching cell, or null if none is within maxDist or start is outside
+     */
+    public Pixel2D nearestWithValue(Pixel2D start, int value, int obsColor, int maxDist) {
+        long r = nearest(start, value, obsColor, maxDist);
+        if (r < 0) return null;
+        int c = (int) r;
+        return new Index2D(c / _h, c % _h);
+    }
 
-                ans.setPixel(nb, d + 1);
-                q.addLast(new Index2D(nb));
+    /**
+     * Distance to the nearest cell that holds {@code value}, with early termination.
+     *
+     * @param start    start pixel
+     * @param value    value to look for
+     * @param obsColor obstacle value
+     * @param maxDist  radius cap (Integer.MAX_VALUE for none)
+     * @return the distance, or -1 if no matching cell is within maxDist or start is outside
+     */
+    public int distanceToNearest(Pixel2D start, int value, int obsColor, int maxDist) {
+        long r = nearest(start, value, obsColor, maxDist);
+        return r < 0 ? -1 : (int) (r >>> 32);
+    }
+
+    /**
+     * Maze distance between two cells, capped by a radius.
+     * Answered from the distance table when one is attached, otherwise by a BFS that stops
+     * at the target or at maxDist.
+     *
+     * @param start    start pixel
+     * @param target   target pixel
+     * @param obsColor obstacle value
+     * @param maxDist  radius cap (Integer.MAX_VALUE for none)
+     * @return the distance, or -1 if target is unreachable, farther than maxDist or outside
+     */
+    public int distance(Pixel2D start, Pixel2D target, int obsColor, int maxDist) {
+        requirePixel(start);
+        requirePixel(target);
+        requireRadius(maxDist);
+        if (!isInside(start) || !isInside(target)) return -1;
+
+        int from = indexOf(start.getX(), start.getY()), to = indexOf(target.getX(), target.getY());
+        DistanceTable t = tableFor(obsColor);
+        if (t != null) {
+            int d = t.distance(from, to);
+            return d <= maxDist ? d : -1;
+        }
+        long r = bfs().nearestCell(this, from, to, obsColor, maxDist);
+        return r < 0 ? -1 : (int) (r >>> 32);
+    }
+
+    /**
+     * Maze distance to the nearest of several targets; the search stops at the first one reached.
+     * Targets that are null, outside the map or obstacles are ignored.
+     *
+     * @param start    start pixel
+     * @param targets  target pixels
+     * @param obsColor obstacle value
+     * @param maxDist  radius cap (Integer.MAX_VALUE for none)
+     * @return the distance, or -1 if no target is within maxDist or start is outside
+     */
+    public int distanceToAny(Pixel2D start, Pixel2D[] targets, int obsColor, int maxDist) {
+        requirePixel(start);
+        if (targets == null) throw new RuntimeException("Targets array is null");
+        requireRadius(maxDist);
+        if (!isInside(start)) return -1;
+
+        int from = indexOf(start.getX(), start.getY());
+        DistanceTable t = tableFor(obsColor);
+        if (t != null) {
+            int best = -1;
+            for (Pixel2D p : targets) {
+                if (p == null || !isInside(p)) continue;
+                int d = t.distance(from, indexOf(p.getX(), p.getY()));
+                if (d >= 0 && d <= maxDist && (best < 0 || d < best)) best = d;
             }
+            return best;
         }
-        return ans;
+        long r = bfs().nearestTarget(this, from, targets, obsColor, maxDist);
+        return r < 0 ? -1 : (int) (r >>> 32);
+    }
+
+    /**
+     * Returns the all-pairs distance table for the current wall layout.
+     * Tables are taken from the shared TopologyCache, so maps with the same walls share one table.
+     * While the table is valid, allDistance and allDistanceView are served from it (no BFS).
+     * Changing an obstacle cell (setPixel, fill, init) drops the table.
+     *
+     * @param obsColor obstacle value
+     * @return the table, or null if the map has too many walkable cells (see DistanceTable.MAX_CELLS)
+     */
+    public DistanceTable distanceTable(int obsColor) {
+        checkMapInitialized();
+        DistanceTable t = tableFor(obsColor);
+        if (t == null) {
+            t = TopologyCache.shared().table(this, obsColor);
+            _table = t;
+        }
+        return t;
+    }
+
+    /**
+     * Returns the neighbor table for obsColor and the current cyclic flag.
+     * One table per cyclic mode is kept and reused until an obstacle cell changes
+     * (setPixel, fill, init), or until it is asked for with another obstacle color.
+     *
+     * @param obsColor obstacle value
+     * @return the neighbor table (see {@link Adjacency})
+     */
+    public Adjacency adjacency(int obsColor) {
+        checkMapInitialized();
+        Adjacency a = _cyclicFlag ? _adjCyclic : _adjFlat;
+        if (a == null || !a.matches(_w, _h, _cyclicFlag, obsColor)) {
+            a = Adjacency.build(this, obsColor);
+            if (_cyclicFlag) _adjCyclic = a;
+            else _adjFlat = a;
+        }
+        return a;
     }
 
     /**
@@ -316,7 +528,7 @@ public class Map implements Map2D {
      */
     @Override
     public boolean isInside(Pixel2D p) {
-        if (_map == null || p == null) return false;
+        if (_data == null || p == null) return false;
         return isInsideXY(p.getX(), p.getY());
     }
 
@@ -338,86 +550,82 @@ public class Map implements Map2D {
         _cyclicFlag = cy;
     }
 
+    // ----------------- unchecked internal access -----------------
+    // Used by the BFS loops: no initialization or bounds checks.
+
+    /** @return the flat index of (x,y), i.e. x*h+y. */
+    int indexOf(int x, int y) {
+        return x * _h + y;
+    }
+
+    /** @return the value stored at flat index i. */
+    int getAt(int i) {
+        return _data[i];
+    }
+
+    /** Stores v at flat index i. */
+    void setAt(int i, int v) {
+        _data[i] = v;
+    }
+
+    /** @return the live backing array (row-major, x*h+y). Callers must not resize it. */
+    int[] data() {
+        return _data;
+    }
+
     // ----------------- private helpers -----------------
 
-    /** @throws RuntimeException if the map has not been initialized. */
-    private void checkMapInitialized() {
-        if (_map == null) throw new RuntimeException("Map is not initialized");
+    /** Shared part of nearestWithValue / distanceToNearest: (distance << 32 | cell) or -1. */
+    private long nearest(Pixel2D start, int value, int obsColor, int maxDist) {
+        requirePixel(start);
+        requireRadius(maxDist);
+        if (!isInside(start)) return -1;
+        return bfs().nearest(this, indexOf(start.getX(), start.getY()), value, obsColor, maxDist);
     }
 
-    /** @return true iff (x,y) is inside bounds. */
-    private boolean isInsideXY(int x, int y) {
-        return x >= 0 && x < getWidth() && y >= 0 && y < getHeight();
+    /** @throws RuntimeException if the radius cap is negative. */
+    private static void requireRadius(int maxDist) {
+        if (maxDist < 0) throw new RuntimeException("maxDist must not be negative");
     }
 
-    /**
-     * Returns the 4-neighborhood of p (up, left, down, right).
-     * If cyclic is enabled, neighbors wrap around the borders.
-     *
-     * @param p center pixel
-     * @return array of 4 neighbor pixels (some may be outside if non-cyclic)
-     */
-    private Pixel2D[] neighbors4(Pixel2D p) {
-        int x = p.getX(), y = p.getY();
-        int w = getWidth(), h = getHeight();
+    /** @return this map's BFS engine, created on first use. */
+    private BfsEngine bfs() {
+        if (_bfs == null) _bfs = new BfsEngine();
+        return _bfs;
+    }
 
-        int leftX = x - 1, rightX = x + 1;
-        int upY = y - 1, downY = y + 1;
+    /** @return the cached distance table if it matches this map and obsColor, else null. */
+    private DistanceTable tableFor(int obsColor) {
+        DistanceTable t = _table;
+        return (t != null && t.matches(_w, _h, _cyclicFlag, obsColor)) ? t : null;
+    }
 
-        if (isCyclic()) {
-            leftX = wrap(leftX, w);
-            rightX = wrap(rightX, w);
-            upY = wrap(upY, h);
-            downY = wrap(downY, h);
-        }
+    /** @return this map's reusable row view, bound to {@code start}. */
+    private DistanceView tableView(DistanceTable t, Pixel2D start) {
+        if (_tableView == null || _tableView.table() != t) _tableView = new DistanceTable.RowView(t);
+        _tableView.rebind(indexOf(start.getX(), start.getY()));
+        return _tableView;
+    }
 
-        return new Pixel2D[] {
-                new Index2D(x, upY),
-                new Index2D(leftX, y),
-                new Index2D(x, downY),
-                new Index2D(rightX, y)
-        };
+    /** Drops the neighbor tables for which replacing a with b adds or removes an obstacle. */
+    private void dropAdjacency(int a, int b) {
+        if (_adjCyclic != null && changesObstacle(a, b, _adjCyclic.getObsColor())) _adjCyclic = null;
+        if (_adjFlat != null && changesObstacle(a, b, _adjFlat.getObsColor())) _adjFlat = null;
     }
 
-    /**
-     * Wraps an index into [0, max-1] (modulo arithmetic).
-     *
-     * @param v index (may be negative or >= max)
-     * @param max dimension size
-     * @return wrapped index in [0..max-1]
-     */
-    private int wrap(int v, int max) {
-        int r = v % max;
-        if (r < 0) r += max;
-        return r;
+    /** @return true iff replacing a with b turns an obstacle into a free cell or vice versa. */
+    private static boolean changesObstacle(int a, int b, int obsColor) {
+        return (a == obsColor) != (b == obsColor);
     }
 
-    /**
-     * Reconstructs a path from p1 to p2 using the parent matrix.
-     * Assumes p2 is reachable (i.e., parent chain exists).
-     *
-     * @param p1 start pixel
-     * @param p2 target pixel
-     * @param parent parent pointers: parent[x][y] is the predecessor on the BFS tree
-     * @return path including p1 and p2, or null on inconsistent parent chain
-     */
-    private Pixel2D[] buildPath(Pixel2D p1, Pixel2D p2, Pixel2D[][] parent) {
-        ArrayList<Pixel2D> rev = new ArrayList<>();
-        Pixel2D cur = new Index2D(p2);
-        rev.add(cur);
-
-        while (!cur.equals(p1)) {
-            Pixel2D par = parent[cur.getX()][cur.getY()];
-            if (par == null) return null;
-            cur = par;
-            rev.add(cur);
-        }
+    /** @throws RuntimeException if the map has not been initialized. */
+    private void checkMapInitialized() {
+        if (_data == null) throw new RuntimeException("Map is not initialized");
+    }
 
-        Pixel2D[] path = new Pixel2D[rev.size()];
-        for (int i = 0; i < rev.size(); i++) {
-            path[i] = rev.get(rev.size() - 1 - i);
-        }
-        return path;
+    /** @return true iff (x,y) is inside bounds. */
+    private boolean isInsideXY(int x, int y) {
+        return x >= 0 && x < _w && y >= 0 && y < _h;
     }
 
     /**
@@ -435,21 +643,6 @@ public class Map implements Map2D {
      * @return true iff p is inside the map and not an obstacle.
      */
     private boolean isWalkable(Pixel2D p, int obsColor) {
-        return isInside(p) && getPixel(p) != obsColor;
-    }
-
-    /**
-     * Enqueues nb for flood-fill iff it is inside, not visited yet, and equals matchValue.
-     * Also marks the neighbor as visited at enqueue time (prevents duplicates in the queue).
-     */
-    private void enqueueIfMatch(Pixel2D nb, int matchValue,
-                                boolean[][] visited, ArrayDeque<Pixel2D> q) {
-        if (!isInside(nb)) return;
-        int x = nb.getX(), y = nb.getY();
-        if (visited[x][y]) return;
-        if (getPixel(nb) != matchValue) return;
-
-        visited[x][y] = true;
-        q.addLast(new Index2D(nb));
+        return isInside(p) && _data[indexOf(p.getX(), p.getY())] != obsColor;
     }
 }
@@ -0,0 +1,27 @@
+package assignments;
+
+/**
+ * Pluggable shortest-path search behind {@link Map#shortestPath}.
+ *
+ * OVERVIEW
+ * --------
+ * Map.shortestPath validates its arguments, handles the trivial cases (obstacle or outside
+ * endpoints, start == goal) and then hands the search to the engine set with
+ * {@link Map#setPathEngine}. Without an engine the built-in BFS is used.
+ *
+ * An engine must return a shortest path (same length as BFS) made of consecutive
+ * 4-neighbors, respecting the cyclic flag of the map. Among equally short paths any may be
+ * returned. Engines keep their search buffers between calls, so an engine is not
+ * thread-safe and should be owned by one map (or one thread).
+ */
+public interface PathEngine {
+
+    /**
+     * @param map      map to search
+     * @param from     flat index x*h+y of the start cell (inside, not an obstacle)
+     * @param to       flat index x*h+y of the goal cell (inside, not an obstacle, != from)
+     * @param obsColor obstacle value
+     * @return the path from start to goal, both included, or null if the goal is unreachable
+     */
+    Pixel2D[] shortestPath(Map map, int from, int to, int obsColor);
+}
@@ -0,0 +1,44 @@
+package assignments;
+
+/**
+ * Grid helpers shared by the path engines (flat cells x*h+y).
+ */
+final class Paths {
+
+    private Paths() {}
+
+    /**
+     * @param cur flat cell index
+     * @param x   x of cur
+     * @param y   y of cur
+     * @param k   neighbor number in Map order (0: y-1, 1: x-1, 2: y+1, 3: x+1)
+     * @return flat index of the neighbor, or -1 if it is outside a non-cyclic map
+     */
+    static int neighbor(int cur, int x, int y, int k, int w, int h, boolean cyclic) {
+        switch (k) {
+            case 0:  return (y > 0) ? cur - 1 : (cyclic ? cur + h - 1 : -1);
+            case 1:  return (x > 0) ? cur - h : (cyclic ? cur + (w - 1) * h : -1);
+            case 2:  return (y < h - 1) ? cur + 1 : (cyclic ? cur - (h - 1) : -1);
+            default: return (x < w - 1) ? cur + h : (cyclic ? cur - (w - 1) * h : -1);
+        }
+    }
+
+    /**
+     * Walks the parent links back from the goal.
+     *
+     * @param parent parent cell per cell (the start has no valid parent)
+     * @param from   start cell
+     * @param to     goal cell
+     * @param h      map height
+     * @return the path from start to goal, both included
+     */
+    static Pixel2D[] build(int[] parent, int from, int to, int h) {
+        int len = 1;
+        for (int c = to; c != from; c = parent[c]) len++;
+        Pixel2D[] path = new Pixel2D[len];
+        int c = to;
+        for (int i = len - 1; i > 0; i--, c = parent[c]) path[i] = Cells.pixel(c, h);
+        path[0] = Cells.pixel(from, h);
+        return path;
+    }
+}
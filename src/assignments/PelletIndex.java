@@ -0,0 +1,158 @@
+package assignments;
+
+import java.util.Arrays;
+
+/**
+ * Compact index of the remaining pellet cells of a board, per tracked color.
+ *
+ * OVERVIEW
+ * --------
+ * Nearest-pellet and best-pellet queries used to scan all w*h board cells for every
+ * candidate move. This index keeps, for each tracked color (e.g. PINK and GREEN), the flat
+ * cells x*h+y that currently hold it in a dense int array, so queries cost O(pellets left)
+ * and get cheaper as the level is cleared.
+ *
+ * Each color is a sparse set: a dense array of cells plus a cell -> slot table, so adding
+ * and removing a cell are O(1) (removal swaps the last cell into the hole). The dense order
+ * is therefore arbitrary; queries that must be deterministic break ties on the cell index.
+ *
+ * UPDATES
+ * -------
+ * {@link #rebuild(int[][])} scans a board once. {@link #apply(int, int, int)} applies one cell
+ * change, e.g. replayed from a {@link BoardChanges} journal, so a tick that eats one pellet
+ * costs O(1) instead of a rescan.
+ *
+ * Not thread-safe.
+ */
+public class PelletIndex {
+
+    private final int[] _colors;
+    private int _w, _h;
+    private int[][] _cells = new int[0][];   // per color: dense cells
+    private int[] _size;                     // per color: number of cells
+    private int[] _slot = new int[0];        // cell -> slot in its color's dense array, -1 if none
+
+    /**
+     * @param colors the board values to index
+     * @throws RuntimeException if no color is given
+     */
+    public PelletIndex(int... colors) {
+        if (colors == null || colors.length == 0) throw new RuntimeException("No colors to index");
+        _colors = colors.clone();
+        _size = new int[colors.length];
+    }
+
+    /**
+     * Re-reads every cell of a board.
+     *
+     * @param board board[x][y]
+     */
+    public void rebuild(int[][] board) {
+        int w = board.length, h = board[0].length, n = w * h;
+        if (n != _slot.length) {
+            _slot = new int[n];
+            _cells = new int[_colors.length][n];
+        }
+        _w = w;
+        _h = h;
+        Arrays.fill(_size, 0);
+        for (int x = 0; x < w; x++) {
+            int[] col = board[x];
+            for (int y = 0, c = x * h; y < h; y++, c++) {
+                int k = colorIndex(col[y]);
+                if (k < 0) {
+                    _slot[c] = -1;
+                } else {
+                    _slot[c] = _size[k];
+                    _cells[k][_size[k]++] = c;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies one cell change.
+     *
+     * @param cell     flat cell index x*h+y
+     * @param oldValue value before the change
+     * @param newValue value after the change
+     */
+    public void apply(int cell, int oldValue, int newValue) {
+        int ko = colorIndex(oldValue), kn = colorIndex(newValue);
+        if (ko == kn) return;
+        if (ko >= 0 && _slot[cell] >= 0) remove(ko, cell);
+        if (kn >= 0) {
+            _slot[cell] = _size[kn];
+            _cells[kn][_size[kn]++] = cell;
+        }
+    }
+
+    /** @return board width of the last rebuild */
+    public int width() { return _w; }
+
+    /** @return board height of the last rebuild */
+    public int height() { return _h; }
+
+    /**
+     * @param color indexed color
+     * @return number of cells holding it
+     */
+    public int size(int color) {
+        return _size[indexOf(color)];
+    }
+
+    /**
+     * @param color indexed color
+     * @param i     position in [0, size(color))
+     * @return flat cell index x*h+y
+     */
+    public int cell(int color, int i) {
+        int k = indexOf(color);
+        if (i < 0 || i >= _size[k]) throw new RuntimeException("Index out of range: " + i);
+        return _cells[k][i];
+    }
+
+    /**
+     * Finds the cell of a color with the smallest distance in a distance map.
+     * Ties are broken by the smaller cell index, i.e. the first one in x-then-y board order.
+     *
+     * @param color indexed color
+     * @param dist  distance map (-1 = unreachable) over the same board
+     * @return flat cell index x*h+y, or -1 if no cell of that color is reachable
+     */
+    public int nearest(int color, Map2D dist) {
+        int k = indexOf(color);
+        int[] cells = _cells[k];
+        int h = _h, best = -1, min = Integer.MAX_VALUE;
+        for (int i = 0, n = _size[k]; i < n; i++) {
+            int c = cells[i];
+            int d = dist.getPixel(c / h, c % h);
+            if (d != -1 && (d < min || (d == min && c < best))) {
+                min = d;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    // ----------------- helpers -----------------
+
+    private void remove(int k, int cell) {
+        int s = _slot[cell];
+        int last = _cells[k][--_size[k]];
+        _cells[k][s] = last;
+        _slot[last] = s;
+        _slot[cell] = -1;
+    }
+
+    private int colorIndex(int v) {
+        for (int k = 0; k < _colors.length; k++) if (_colors[k] == v) return k;
+        return -1;
+    }
+
+    private int indexOf(int color) {
+        int k = colorIndex(color);
+        if (k < 0) throw new RuntimeException("Color is not indexed: " + color);
+        return k;
+    }
+}
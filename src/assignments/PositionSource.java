@@ -0,0 +1,33 @@
+package assignments;
+
+/**
+ * Optional extension of the engine objects that report positions.
+ *
+ * OVERVIEW
+ * --------
+ * PacmanGame.getPos and GhostCL.getPos return positions as "x,y" strings, which the algorithm
+ * then splits and parses several times per tick. A game or ghost that also implements this
+ * interface hands out the same position as a packed int, with no string in between.
+ * Algorithms check for it with instanceof and fall back to parsing getPos otherwise.
+ *
+ * PACKING
+ * -------
+ * A position is packed as a {@link Cells} cell of the board returned by getGame: x*h+y, where
+ * h is the board height. It is the index of the position in Map's backing array, and
+ * {@link Cells#x} and {@link Cells#y} read it back.
+ */
+public interface PositionSource {
+
+    /**
+     * @param code engine-specific code (same meaning as in getPos)
+     * @return the current position, packed with {@link Cells#pack(int, int, int)} for the
+     *         height of the game board
+     */
+    int packedPos(int code);
+
+    /**
+     * @param code engine-specific code (same meaning as in getPos)
+     * @return the current position as a new pixel
+     */
+    Pixel2D pixelPos(int code);
+}
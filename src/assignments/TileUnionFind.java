@@ -0,0 +1,125 @@
+package assignments;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel union-find labeling over a flat raster (cells x*h+y), shared by the parallel
+ * flood fill and the parallel component labeling.
+ *
+ * The columns are split into tiles of about {@link #TILE_CELLS} cells. Each tile unions its
+ * own member cells with their y-1 and x-1 neighbors. Once both halves of a fork-join task's
+ * column range are done, the task merges them across the seam column. The cyclic seam
+ * between the last and the first column is merged last. Unions always link to the smaller
+ * index, so the root of every component is its first cell in flat order.
+ */
+final class TileUnionFind {
+
+    /** Approximate number of cells handled sequentially by one tile. */
+    static final int TILE_CELLS = 1 << 16;
+
+    private TileUnionFind() {}
+
+    /**
+     * Builds the union-find forest of the cells whose membership is
+     * {@code (data[i] == value) == member}.
+     *
+     * @param tileCells approximate number of cells per sequential tile (at least one column)
+     * @return parent per cell: -1 for non-members, the cell itself for roots
+     */
+    static int[] label(int[] data, int w, int h, boolean cyclic, int value, boolean member, int tileCells) {
+        int[] parent = new int[w * h];
+        ForkJoinPool.commonPool().invoke(
+                new Label(data, parent, value, member, h, cyclic, 0, w, tileCols(h, tileCells)));
+        if (cyclic && w > 1) seam(parent, h, w - 1, 0);
+        return parent;
+    }
+
+    /** @return the number of columns per tile */
+    static int tileCols(int h, int tileCells) {
+        return Math.max(1, tileCells / h);
+    }
+
+    /** @return the root of i, without writing to parent (safe while other tiles read it). */
+    static int root(int[] parent, int i) {
+        while (parent[i] != i) i = parent[i];
+        return i;
+    }
+
+    /** @return the root of i (path halving). */
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /** Links the roots of a and b; the smaller index becomes the root. */
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a), rb = find(parent, b);
+        if (ra < rb) parent[rb] = ra;
+        else if (rb < ra) parent[ra] = rb;
+    }
+
+    /** Unions the member cells of column xa with their neighbors in column xb. */
+    private static void seam(int[] parent, int h, int xa, int xb) {
+        int a = xa * h, b = xb * h;
+        for (int y = 0; y < h; y++) {
+            if (parent[a + y] >= 0 && parent[b + y] >= 0) union(parent, a + y, b + y);
+        }
+    }
+
+    /** Labels columns [x0, x1), then merges the two halves of larger ranges. */
+    private static final class Label extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] data, parent;
+        private final int value, h, x0, x1, tileCols;
+        private final boolean member, cyclic;
+
+        Label(int[] data, int[] parent, int value, boolean member, int h, boolean cyclic,
+              int x0, int x1, int tileCols) {
+            this.data = data;
+            this.parent = parent;
+            this.value = value;
+            this.member = member;
+            this.h = h;
+            this.cyclic = cyclic;
+            this.x0 = x0;
+            this.x1 = x1;
+            this.tileCols = tileCols;
+        }
+
+        @Override
+        protected void compute() {
+            if (x1 - x0 <= tileCols) {
+                tile();
+                return;
+            }
+            int mid = (x0 + x1) >>> 1;
+            invokeAll(new Label(data, parent, value, member, h, cyclic, x0, mid, tileCols),
+                      new Label(data, parent, value, member, h, cyclic, mid, x1, tileCols));
+            seam(parent, h, mid - 1, mid);
+        }
+
+        private void tile() {
+            for (int x = x0; x < x1; x++) {
+                int base = x * h;
+                for (int y = 0; y < h; y++) {
+                    int i = base + y;
+                    if ((data[i] == value) != member) {
+                        parent[i] = -1;
+                        continue;
+                    }
+                    parent[i] = i;
+                    if (y > 0 && parent[i - 1] >= 0) union(parent, i - 1, i);
+                    if (x > x0 && parent[i - h] >= 0) union(parent, i - h, i);
+                }
+                if (cyclic && h > 1 && parent[base] >= 0 && parent[base + h - 1] >= 0) {
+                    union(parent, base, base + h - 1);
+                }
+            }
+        }
+    }
+}
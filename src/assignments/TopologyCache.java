@@ -0,0 +1,143 @@
+package assignments;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+/**
+ * Small bounded LRU of wall-derived structures, keyed by a fingerprint of the wall layout.
+ *
+ * OVERVIEW
+ * --------
+ * Everything that depends only on the walls (walkable-cell ids, adjacency list and the
+ * all-pairs distances, all held by a {@link DistanceTable}) is expensive to build but never
+ * changes while the maze stays the same. This cache lets every Map and every algorithm
+ * instance working on the same maze share one table, across ticks and across games.
+ *
+ * FINGERPRINT
+ * -----------
+ * A key is the obstacle bitset (one bit per flat cell index x*h+y) plus width, height,
+ * cyclic flag and obstacle color. The hash is precomputed from the bitset; equality compares
+ * the full bitset, so two different layouts never share an entry.
+ *
+ * THREADING
+ * ---------
+ * All methods are synchronized. Cached tables are immutable and safe to share.
+ */
+public final class TopologyCache {
+
+    /** Number of layouts kept by the shared cache. */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    private static final TopologyCache SHARED = new TopologyCache(DEFAULT_CAPACITY);
+
+    private final LinkedHashMap<Key, Entry> _entries;
+    private int _hits, _misses;
+
+    /**
+     * @param capacity maximum number of layouts kept; the least recently used one is evicted
+     * @throws RuntimeException if capacity is not positive
+     */
+    public TopologyCache(int capacity) {
+        if (capacity <= 0) throw new RuntimeException("Capacity must be positive");
+        _entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(java.util.Map.Entry<Key, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** @return the process-wide cache used by Map.distanceTable. */
+    public static TopologyCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the distance table for the wall layout of a map, building it on a miss.
+     *
+     * @param map      source map (only obstacle cells matter)
+     * @param obsColor obstacle value
+     * @return the shared table, or null if the map is too large for a table (also cached)
+     */
+    public synchronized DistanceTable table(Map map, int obsColor) {
+        Key key = new Key(map, obsColor);
+        Entry e = _entries.get(key);
+        if (e != null) {
+            _hits++;
+            return e.table;
+        }
+        _misses++;
+        DistanceTable t = DistanceTable.build(map, obsColor);
+        _entries.put(key, new Entry(t));
+        return t;
+    }
+
+    /** @return number of cached layouts. */
+    public synchronized int size() { return _entries.size(); }
+
+    /** @return number of lookups served from the cache. */
+    public synchronized int hits() { return _hits; }
+
+    /** @return number of lookups that had to build a table. */
+    public synchronized int misses() { return _misses; }
+
+    /** Drops every cached layout and resets the counters. */
+    public synchronized void clear() {
+        _entries.clear();
+        _hits = 0;
+        _misses = 0;
+    }
+
+    // ----------------- key / entry -----------------
+
+    /** Wall-layout fingerprint. */
+    private static final class Key {
+        private final int _w, _h, _obsColor;
+        private final boolean _cyclic;
+        private final long[] _walls;
+        private final int _hash;
+
+        Key(Map map, int obsColor) {
+            _w = map.getWidth();
+            _h = map.getHeight();
+            _cyclic = map.isCyclic();
+            _obsColor = obsColor;
+
+            int[] data = map.data();
+            int n = _w * _h;
+            _walls = new long[(n + 63) >>> 6];
+            for (int i = 0; i < n; i++) {
+                if (data[i] == obsColor) _walls[i >>> 6] |= 1L << i;
+            }
+
+            int hsh = Arrays.hashCode(_walls);
+            hsh = 31 * hsh + _w;
+            hsh = 31 * hsh + _h;
+            hsh = 31 * hsh + _obsColor;
+            _hash = 31 * hsh + (_cyclic ? 1 : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return _hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return _hash == k._hash && _w == k._w && _h == k._h && _cyclic == k._cyclic
+                    && _obsColor == k._obsColor && Arrays.equals(_walls, k._walls);
+        }
+    }
+
+    /** Cached structures of one layout (table is null when the map is too large). */
+    private static final class Entry {
+        final DistanceTable table;
+
+        Entry(DistanceTable table) {
+            this.table = table;
+        }
+    }
+}
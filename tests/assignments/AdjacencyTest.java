@@ -0,0 +1,78 @@
+package assignments;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the precomputed neighbor tables behind the BFS loops.
+ */
+public class AdjacencyTest {
+
+    private static final int WALL = 1;
+
+    @Test
+    @DisplayName("adjacency: every entry is the wrapped neighbor, -1 for walls and outside cells")
+    void table_matchesWrappedNeighbors() {
+        Random rnd = new Random(22);
+        for (int t = 0; t < 50; t++) {
+            int w = 1 + rnd.nextInt(12), h = 1 + rnd.nextInt(12);
+            Map map = new Map(BfsEngineTest.randomMaze(rnd, w, h, 0.3));
+            boolean cyclic = rnd.nextBoolean();
+            map.setCyclic(cyclic);
+            Adjacency adj = map.adjacency(WALL);
+            assertNotNull(adj.table());
+
+            for (int c = 0; c < w * h; c++)
+                for (int k = 0; k < 4; k++) {
+                    int nb = Cells.neighbor(c, k, w, h, cyclic);
+                    int expected = (map.getAt(c) == WALL || nb < 0 || map.getAt(nb) == WALL) ? -1 : nb;
+                    assertEquals(expected, adj.neighbor(c, k), "map " + t + " cell " + c + " k " + k);
+                }
+        }
+    }
+
+    @Test
+    @DisplayName("adjacency: cached per cyclic mode, dropped when a wall changes or the color differs")
+    void cache_invalidation() {
+        Map map = new Map(6, 5, 0);
+        Adjacency cyclic = map.adjacency(WALL);
+        assertSame(cyclic, map.adjacency(WALL));
+
+        map.setCyclic(false);
+        Adjacency flat = map.adjacency(WALL);
+        assertNotSame(cyclic, flat);
+        assertFalse(flat.isCyclic());
+        map.setCyclic(true);
+        assertSame(cyclic, map.adjacency(WALL), "Switching back reuses the cyclic table");
+
+        map.setPixel(2, 2, 7);
+        assertSame(cyclic, map.adjacency(WALL), "Non-wall writes keep the table");
+        map.setPixel(2, 2, WALL);
+        Adjacency walled = map.adjacency(WALL);
+        assertNotSame(cyclic, walled);
+        assertEquals(-1, walled.neighbor(map.indexOf(2, 1), 2));
+
+        map.fill(new Index2D(2, 2), 0);
+        assertNotSame(walled, map.adjacency(WALL));
+        assertEquals(3, map.adjacency(3).getObsColor());
+    }
+
+    @Test
+    @DisplayName("adjacency: maps above MAX_CELLS compute neighbors without a stored table")
+    void largeMap_noTable() {
+        int w = 1025, h = 1024;
+        assertTrue(w * h > Adjacency.MAX_CELLS);
+        Map map = new Map(w, h, 0);
+        map.setPixel(0, 1, WALL);
+        Adjacency adj = map.adjacency(WALL);
+        assertNull(adj.table());
+        assertEquals(-1, adj.neighbor(0, 2));
+        assertEquals(h - 1, adj.neighbor(0, 0));
+        assertEquals((w - 1) * h, adj.neighbor(0, 1));
+        assertEquals(5, map.allDistance(new Index2D(0, 0), WALL).getPixel(2, 3));
+    }
+}
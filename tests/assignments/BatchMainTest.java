@@ -0,0 +1,83 @@
+package assignments;
+
+import MyGame.client.BatchMain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchMainTest {
+
+    @Test
+    @DisplayName("run: one result per seed, ordered, with consistent totals (parallel)")
+    void run_parallel_reportIsConsistent() throws Exception {
+        BatchMain.Config c = config(10, 19, 4);
+        BatchMain.Report r = BatchMain.run(c);
+
+        assertEquals(10, r.games.length);
+        long ticks = 0;
+        for (int i = 0; i < r.games.length; i++) {
+            assertNotNull(r.games[i]);
+            assertEquals(10 + i, r.games[i].seed);
+            assertTrue(r.games[i].ticks > 0 && r.games[i].ticks <= c.maxTicks);
+            ticks += r.games[i].ticks;
+        }
+        assertEquals(ticks, r.decisions, "One decision per tick");
+        assertEquals(r.wins(), r.ticksToWin().length);
+        assertTrue(r.winRate() >= 0 && r.winRate() <= 1);
+        assertFalse(r.toString().isEmpty());
+    }
+
+    @Test
+    @DisplayName("run: a single worker replays the same games")
+    void run_singleWorker_deterministic() throws Exception {
+        BatchMain.Report a = BatchMain.run(config(0, 3, 1));
+        BatchMain.Report b = BatchMain.run(config(0, 3, 1));
+        for (int i = 0; i < a.games.length; i++) {
+            assertEquals(a.games[i].score, b.games[i].score);
+            assertEquals(a.games[i].ticks, b.games[i].ticks);
+            assertEquals(a.games[i].won, b.games[i].won);
+        }
+    }
+
+    @Test
+    @DisplayName("run: results depend only on the seed, not on the number of workers")
+    void run_reproducibleAcrossThreadCounts() throws Exception {
+        BatchMain.Report serial = BatchMain.run(config(0, 11, 1));
+        BatchMain.Report parallel = BatchMain.run(config(0, 11, 4));
+        boolean anyDifferent = false;
+        for (int i = 0; i < serial.games.length; i++) {
+            assertEquals(serial.games[i].score, parallel.games[i].score, "seed " + i);
+            assertEquals(serial.games[i].ticks, parallel.games[i].ticks, "seed " + i);
+            assertEquals(serial.games[i].won, parallel.games[i].won, "seed " + i);
+            anyDifferent |= serial.games[i].ticks != serial.games[0].ticks;
+        }
+        assertTrue(anyDifferent, "Different seeds should play different games");
+    }
+
+    @Test
+    @DisplayName("parse: reads the options, rejects unknown ones and a trailing option without value")
+    void parse_options() {
+        BatchMain.Config c = BatchMain.parse(new String[]{"--from", "5", "--to", "9", "--threads", "2", "--cyclic", "false"});
+        assertEquals(5, c.fromSeed);
+        assertEquals(9, c.toSeed);
+        assertEquals(2, c.threads);
+        assertFalse(c.cyclic);
+        assertTrue(BatchMain.parse(new String[]{"--algo", "expectimax"}).algo.get() instanceof ExpectimaxAlgo);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BatchMain.parse(new String[]{"--from", "5", "--threads"}));
+        assertEquals("Missing value for --threads", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> BatchMain.parse(new String[]{"--level", "7"}));
+        assertThrows(IllegalArgumentException.class, () -> BatchMain.parse(new String[]{"--algo", "greedy"}));
+    }
+
+    private static BatchMain.Config config(long from, long to, int threads) {
+        BatchMain.Config c = new BatchMain.Config();
+        c.fromSeed = from;
+        c.toSeed = to;
+        c.threads = threads;
+        c.maxTicks = 3000;
+        return c;
+    }
+}
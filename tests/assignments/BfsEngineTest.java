@@ -0,0 +1,201 @@
+package assignments;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the reusable BFS engine behind Map.allDistance / Map.allDistanceView.
+ * Distances are compared against a straightforward reference BFS on int[][].
+ */
+public class BfsEngineTest {
+
+    private static final int WALL = 1;
+
+    @Test
+    @DisplayName("allDistance: matches a reference BFS on random maps (cyclic and non-cyclic)")
+    void allDistance_matchesReference() {
+        Random rnd = new Random(7);
+        for (int t = 0; t < 40; t++) {
+            int w = 1 + rnd.nextInt(20), h = 1 + rnd.nextInt(20);
+            int[][] arr = randomMaze(rnd, w, h, 0.3);
+            boolean cyclic = rnd.nextBoolean();
+            Map map = new Map(arr);
+            map.setCyclic(cyclic);
+            Pixel2D s = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+
+            int[][] expected = referenceBfs(arr, s, cyclic);
+            assertGridEquals(expected, map.allDistance(s, WALL));
+            assertGridEquals(expected, map.allDistanceView(s, WALL));
+        }
+    }
+
+    @Test
+    @DisplayName("allDistanceView: returns the same reusable view, overwritten by the next call")
+    void allDistanceView_reused() {
+        Map map = new Map(6, 1, 0);
+        map.setCyclic(false);
+
+        Map2D a = map.allDistanceView(new Index2D(0, 0), WALL);
+        assertEquals(5, a.getPixel(5, 0));
+        Map2D b = map.allDistanceView(new Index2D(5, 0), WALL);
+
+        assertSame(a, b, "The view object must be reused");
+        assertEquals(0, a.getPixel(5, 0), "The view reflects the latest search");
+        assertThrows(RuntimeException.class, () -> b.setPixel(0, 0, 3));
+    }
+
+    @Test
+    @DisplayName("allDistance: the returned Map is independent of later searches")
+    void allDistance_independentCopy() {
+        Map map = new Map(6, 1, 0);
+        Map2D a = map.allDistance(new Index2D(0, 0), WALL);
+        map.allDistance(new Index2D(5, 0), WALL);
+        map.allDistanceView(new Index2D(3, 0), WALL);
+        assertEquals(0, a.getPixel(0, 0));
+    }
+
+    @Test
+    @DisplayName("allDistanceView: the view survives the bounded searches")
+    void allDistanceView_survivesBoundedSearches() {
+        Map map = new Map(6, 1, 0);
+        map.setCyclic(false);
+        map.setPixel(5, 0, 7);
+
+        Map2D a = map.allDistanceView(new Index2D(0, 0), WALL);
+        assertEquals(2, map.distanceToNearest(new Index2D(3, 0), 7, WALL, 10));
+        assertEquals(3, map.distance(new Index2D(5, 0), new Index2D(2, 0), WALL, 10));
+        assertEquals(1, map.distanceToAny(new Index2D(4, 0), new Pixel2D[]{new Index2D(5, 0)}, WALL, 10));
+        assertNotNull(map.nearestWithValue(new Index2D(1, 0), 7, WALL, 10));
+
+        for (int x = 0; x < 6; x++) assertEquals(x, a.getPixel(x, 0), "x=" + x);
+    }
+
+    @Test
+    @DisplayName("allDistanceView: start on an obstacle -> all -1, outside -> null")
+    void allDistanceView_edgeCases() {
+        int[][] arr = new int[3][3];
+        arr[1][1] = WALL;
+        Map map = new Map(arr);
+
+        Map2D d = map.allDistanceView(new Index2D(1, 1), WALL);
+        for (int x = 0; x < 3; x++) for (int y = 0; y < 3; y++) assertEquals(-1, d.getPixel(x, y));
+        assertNull(map.allDistanceView(new Index2D(5, 5), WALL));
+    }
+
+    @Test
+    @DisplayName("allDistanceView: no allocations per call once warmed up")
+    void allDistanceView_allocationFree() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "Allocation counter not available");
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(mx.isThreadAllocatedMemorySupported(), "Allocation counter not supported");
+        mx.setThreadAllocatedMemoryEnabled(true);
+
+        Map map = new Map(randomMaze(new Random(3), 64, 64, 0.25));
+        Pixel2D s = new Index2D(0, 0);
+        map.setPixel(s, 0);
+        for (int i = 0; i < 2000; i++) map.allDistanceView(s, WALL);
+
+        long tid = Thread.currentThread().getId();
+        long before = mx.getThreadAllocatedBytes(tid);
+        for (int i = 0; i < 200; i++) map.allDistanceView(s, WALL);
+        long after = mx.getThreadAllocatedBytes(tid);
+
+        // 200 calls on 4096 cells: any per-cell or per-call buffer would be far above this
+        assertTrue(after - before < 4096, "Expected no allocations, got " + (after - before) + " bytes");
+    }
+
+    @Test
+    @DisplayName("allDistanceMulti: equals the cell-wise minimum of single-source BFS runs")
+    void allDistanceMulti_matchesMinOfSingles() {
+        Random rnd = new Random(21);
+        for (int t = 0; t < 40; t++) {
+            int w = 1 + rnd.nextInt(20), h = 1 + rnd.nextInt(20);
+            int[][] arr = randomMaze(rnd, w, h, 0.3);
+            boolean cyclic = rnd.nextBoolean();
+            Map map = new Map(arr);
+            map.setCyclic(cyclic);
+
+            Pixel2D[] sources = new Pixel2D[1 + rnd.nextInt(4)];
+            for (int i = 0; i < sources.length; i++) sources[i] = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+
+            int[][] expected = new int[w][h];
+            for (int[] r : expected) java.util.Arrays.fill(r, -1);
+            for (Pixel2D s : sources) {
+                int[][] d = referenceBfs(arr, s, cyclic);
+                for (int x = 0; x < w; x++)
+                    for (int y = 0; y < h; y++)
+                        if (d[x][y] != -1 && (expected[x][y] == -1 || d[x][y] < expected[x][y])) expected[x][y] = d[x][y];
+            }
+
+            int[] multi = map.allDistanceMulti(sources, WALL);
+            for (int x = 0; x < w; x++)
+                for (int y = 0; y < h; y++)
+                    assertEquals(expected[x][y], multi[x * h + y], "Mismatch at (" + x + "," + y + ")");
+        }
+    }
+
+    @Test
+    @DisplayName("allDistanceMulti: null, outside and obstacle sources are ignored")
+    void allDistanceMulti_invalidSourcesIgnored() {
+        int[][] arr = new int[4][1];
+        arr[1][0] = WALL;
+        Map map = new Map(arr);
+        map.setCyclic(false);
+
+        int[] d = map.allDistanceMulti(new Pixel2D[]{null, new Index2D(9, 9), new Index2D(1, 0)}, WALL);
+        for (int i = 0; i < 4; i++) assertEquals(-1, d[i]);
+
+        d = map.allDistanceMulti(new Pixel2D[]{new Index2D(3, 0), null, new Index2D(3, 0)}, WALL);
+        assertArrayEquals(new int[]{-1, -1, 1, 0}, java.util.Arrays.copyOf(d, 4));
+    }
+
+    /* ================= helpers ================= */
+
+    static int[][] randomMaze(Random rnd, int w, int h, double wallRatio) {
+        int[][] arr = new int[w][h];
+        for (int x = 0; x < w; x++)
+            for (int y = 0; y < h; y++)
+                arr[x][y] = rnd.nextDouble() < wallRatio ? WALL : 0;
+        return arr;
+    }
+
+    static int[][] referenceBfs(int[][] arr, Pixel2D s, boolean cyclic) {
+        int w = arr.length, h = arr[0].length;
+        int[][] d = new int[w][h];
+        for (int[] r : d) java.util.Arrays.fill(r, -1);
+        if (arr[s.getX()][s.getY()] == WALL) return d;
+
+        ArrayDeque<int[]> q = new ArrayDeque<>();
+        d[s.getX()][s.getY()] = 0;
+        q.add(new int[]{s.getX(), s.getY()});
+        int[][] dirs = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+        while (!q.isEmpty()) {
+            int[] c = q.poll();
+            for (int[] dd : dirs) {
+                int x = c[0] + dd[0], y = c[1] + dd[1];
+                if (cyclic) { x = (x + w) % w; y = (y + h) % h; }
+                if (x < 0 || y < 0 || x >= w || y >= h) continue;
+                if (arr[x][y] == WALL || d[x][y] != -1) continue;
+                d[x][y] = d[c[0]][c[1]] + 1;
+                q.add(new int[]{x, y});
+            }
+        }
+        return d;
+    }
+
+    private static void assertGridEquals(int[][] expected, Map2D actual) {
+        assertEquals(expected.length, actual.getWidth());
+        assertEquals(expected[0].length, actual.getHeight());
+        for (int x = 0; x < expected.length; x++)
+            for (int y = 0; y < expected[0].length; y++)
+                assertEquals(expected[x][y], actual.getPixel(x, y), "Mismatch at (" + x + "," + y + ")");
+    }
+}
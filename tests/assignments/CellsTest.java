@@ -0,0 +1,58 @@
+package assignments;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the packed x*h+y cell codec.
+ */
+public class CellsTest {
+
+    @Test
+    @DisplayName("pack / x / y / pixel: round-trip and agree with Map.indexOf")
+    void pack_roundTrip() {
+        Map map = new Map(7, 5, 0);
+        for (int x = 0; x < 7; x++)
+            for (int y = 0; y < 5; y++) {
+                int c = Cells.pack(x, y, 5);
+                assertEquals(map.indexOf(x, y), c);
+                assertEquals(c, Cells.pack(new Index2D(x, y), 5));
+                assertEquals(x, Cells.x(c, 5));
+                assertEquals(y, Cells.y(c, 5));
+                assertEquals(new Index2D(x, y), Cells.pixel(c, 5));
+            }
+    }
+
+    @Test
+    @DisplayName("neighbor: matches wrapped coordinates on cyclic maps, -1 outside otherwise")
+    void neighbor_wrapSemantics() {
+        Random rnd = new Random(21);
+        int[][] d = {{0, -1}, {-1, 0}, {0, 1}, {1, 0}};
+        for (int t = 0; t < 200; t++) {
+            int w = 1 + rnd.nextInt(6), h = 1 + rnd.nextInt(6);
+            int x = rnd.nextInt(w), y = rnd.nextInt(h), k = rnd.nextInt(4);
+            int c = Cells.pack(x, y, h);
+            int nx = x + d[k][0], ny = y + d[k][1];
+
+            assertEquals(Cells.pack(Cells.wrap(nx, w), Cells.wrap(ny, h), h), Cells.neighbor(c, k, w, h, true));
+            boolean inside = nx >= 0 && ny >= 0 && nx < w && ny < h;
+            assertEquals(inside ? Cells.pack(nx, ny, h) : -1, Cells.neighbor(c, k, w, h, false));
+        }
+    }
+
+    @Test
+    @DisplayName("wrap / same: modulo into [0, max), null-safe integer equality")
+    void wrapAndSame() {
+        assertEquals(4, Cells.wrap(-1, 5));
+        assertEquals(0, Cells.wrap(10, 5));
+        assertEquals(3, Cells.wrap(3, 5));
+        assertTrue(Cells.same(new Index2D(1, 2), Index2D.of(1, 2)));
+        assertFalse(Cells.same(new Index2D(1, 2), new Index2D(2, 1)));
+        assertTrue(Cells.same(null, null));
+        assertFalse(Cells.same(null, new Index2D(0, 0)));
+    }
+}
@@ -0,0 +1,86 @@
+package assignments;
+
+import MyGame.adapters.MyPacmanGameAdapter;
+import MyGame.server.ChangeJournal;
+import MyGame.server.MyGameServer;
+import MyGame.server.SimClock;
+import exe.ex3.game.Game;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the server board change journal and its BoardChanges view on the adapter.
+ */
+public class ChangeJournalTest {
+
+    @Test
+    @DisplayName("record: versions count up and entries read back until they are overwritten")
+    void record_ringBuffer() {
+        ChangeJournal j = new ChangeJournal(4);
+        for (int i = 1; i <= 10; i++) j.record(i, 100 + i, 0, 1000 + i);
+
+        assertEquals(10, j.version());
+        assertEquals(6, j.oldestVersion());
+        for (long v = 7; v <= 10; v++) {
+            assertEquals((int) v, j.cell(v));
+            assertEquals(100 + (int) v, j.oldValue(v));
+            assertEquals(0, j.newValue(v));
+            assertEquals(1000 + v, j.tick(v));
+        }
+        assertTrue(j.canReplayFrom(6));
+        assertFalse(j.canReplayFrom(5), "Entry 6 was overwritten");
+        assertThrows(IllegalArgumentException.class, () -> j.cell(6));
+        assertThrows(IllegalArgumentException.class, () -> j.cell(11));
+    }
+
+    @Test
+    @DisplayName("reset: earlier versions can no longer be replayed")
+    void reset_cutsHistory() {
+        ChangeJournal j = new ChangeJournal(8);
+        j.record(1, 2, 0, 0);
+        long before = j.version();
+        j.reset();
+
+        assertFalse(j.canReplayFrom(before));
+        assertTrue(j.canReplayFrom(j.version()));
+        j.record(5, 2, 0, 1);
+        assertEquals(5, j.cell(j.version()));
+    }
+
+    @Test
+    @DisplayName("server: every eaten pellet is journaled and replaying the journal rebuilds the board")
+    void server_journalMatchesBoard() {
+        MyGameServer server = new MyGameServer(new SimClock.TickClock(120));
+        server.initDefaultLevel(4);
+        MyPacmanGameAdapter adapter = new MyPacmanGameAdapter(server);
+
+        int[][] board = server.getBoard();
+        int w = board.length, h = board[0].length;
+        int[] copy = new int[w * h];
+        for (int x = 0; x < w; x++) for (int y = 0; y < h; y++) copy[x * h + y] = board[x][y];
+        long seen = adapter.boardVersion();
+
+        int[] dirs = {Game.LEFT, Game.UP, Game.RIGHT, Game.DOWN};
+        for (int i = 0; i < 300 && server.getStatus() == MyGameServer.PLAY; i++) {
+            adapter.move(dirs[(i / 7) % 4]);
+
+            assertTrue(seen >= adapter.oldestBoardVersion());
+            for (long v = seen + 1; v <= adapter.boardVersion(); v++) {
+                int c = adapter.changedCell(v);
+                assertEquals(copy[c], adapter.changedFrom(v));
+                copy[c] = adapter.changedTo(v);
+            }
+            seen = adapter.boardVersion();
+
+            for (int x = 0; x < w; x++)
+                for (int y = 0; y < h; y++)
+                    assertEquals(board[x][y], copy[x * h + y], "Cell " + x + "," + y + " at step " + i);
+        }
+        assertTrue(seen > 1, "Pac-Man should have eaten something");
+
+        server.initDefaultLevel(4);
+        assertTrue(seen < adapter.oldestBoardVersion(), "A new level must not be replayable");
+    }
+}
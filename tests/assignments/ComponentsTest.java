@@ -0,0 +1,108 @@
+package assignments;
+
+import MyGame.server.LevelBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for Map.labelComponents (sequential BFS and parallel union-find labeling).
+ */
+public class ComponentsTest {
+
+    private static final int WALL = 1;
+
+    @Test
+    @DisplayName("labelComponents: labels match BFS reachability, numbered in first-cell order")
+    void label_matchesReachability() {
+        Random rnd = new Random(20);
+        for (int t = 0; t < 40; t++) {
+            int w = 1 + rnd.nextInt(14), h = 1 + rnd.nextInt(14);
+            int[][] arr = BfsEngineTest.randomMaze(rnd, w, h, 0.35);
+            boolean cyclic = rnd.nextBoolean();
+            Map map = new Map(arr);
+            map.setCyclic(cyclic);
+            Components c = map.labelComponents(WALL);
+
+            int next = 0;
+            for (int x = 0; x < w; x++)
+                for (int y = 0; y < h; y++) {
+                    int l = c.label(x, y);
+                    if (arr[x][y] == WALL) {
+                        assertEquals(-1, l);
+                        continue;
+                    }
+                    assertTrue(l <= next, "first-cell order, map " + t);
+                    if (l == next) next++;
+
+                    int[][] d = BfsEngineTest.referenceBfs(arr, new Index2D(x, y), cyclic);
+                    int reached = 0;
+                    for (int i = 0; i < w; i++)
+                        for (int j = 0; j < h; j++) {
+                            assertEquals(d[i][j] != -1, c.label(i, j) == l, "map " + t);
+                            if (d[i][j] != -1) reached++;
+                        }
+                    assertEquals(reached, c.size(l));
+                }
+            assertEquals(next, c.count());
+        }
+    }
+
+    @Test
+    @DisplayName("labelParallel: same labels and sizes as the sequential labeling for any tile size")
+    void labelParallel_matchesSequential() {
+        Random rnd = new Random(21);
+        for (int t = 0; t < 200; t++) {
+            int w = 1 + rnd.nextInt(30), h = 1 + rnd.nextInt(30);
+            Map map = new Map(BfsEngineTest.randomMaze(rnd, w, h, 0.2 + 0.3 * rnd.nextDouble()));
+            boolean cyclic = rnd.nextBoolean();
+
+            Components seq = Components.label(map.data(), w, h, cyclic, WALL);
+            Components par = Components.labelParallel(map.data(), w, h, cyclic, WALL, h * (1 + rnd.nextInt(4)));
+            assertArrayEquals(seq.labels(), par.labels(), "map " + t);
+            assertArrayEquals(seq.sizes(), par.sizes(), "map " + t);
+        }
+    }
+
+    @Test
+    @DisplayName("labelComponents: parallel threshold gives the same result on a large map")
+    void labelComponents_parallelThreshold() {
+        Map map = new Map(BfsEngineTest.randomMaze(new Random(22), 600, 400, 0.4));
+        Components seq = map.labelComponents(WALL);
+        map.setParallelThreshold(0);
+        Components par = map.labelComponents(WALL);
+        assertArrayEquals(seq.labels(), par.labels());
+        assertArrayEquals(seq.sizes(), par.sizes());
+        assertTrue(seq.count() > 1);
+    }
+
+    @Test
+    @DisplayName("default level: every pellet is reachable from the Pac-Man spawn")
+    void defaultLevel_pelletsReachable() {
+        LevelBuilder.LevelData lvl = LevelBuilder.buildDefault(WALL, 3, 5);
+        Map map = new Map(lvl.board);
+        Components c = map.labelComponents(WALL);
+        int spawn = c.label(lvl.pacX, lvl.pacY);
+        assertTrue(spawn >= 0);
+        for (int x = 0; x < map.getWidth(); x++)
+            for (int y = 0; y < map.getHeight(); y++) {
+                int v = map.getPixel(x, y);
+                if (v == 3 || v == 5) assertEquals(spawn, c.label(x, y), "pellet at " + x + "," + y);
+            }
+    }
+
+    @Test
+    @DisplayName("label: outside cells and null pixels are rejected")
+    void label_bounds() {
+        Components c = new Map(3, 2, 0).labelComponents(WALL);
+        assertEquals(1, c.count());
+        assertEquals(6, c.size(0));
+        assertEquals(0, c.label(new Index2D(2, 1)));
+        assertThrows(RuntimeException.class, () -> c.label(3, 0));
+        assertThrows(RuntimeException.class, () -> c.label(0, -1));
+        assertThrows(RuntimeException.class, () -> c.label(null));
+    }
+}
@@ -0,0 +1,136 @@
+package assignments;
+
+import MyGame.server.LevelBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the junction graph of a maze and the path engine built on it.
+ */
+public class CorridorGraphTest {
+
+    private static final int WALL = 1;
+
+    @Test
+    @DisplayName("corridor graph: distance and allDistance equal BFS on random and corridor mazes")
+    void distances_matchBfs() {
+        Random rnd = new Random(23);
+        for (int t = 0; t < 80; t++) {
+            int w = 1 + rnd.nextInt(25), h = 1 + rnd.nextInt(25);
+            int[][] arr = (t % 2 == 0) ? BfsEngineTest.randomMaze(rnd, w, h, rnd.nextDouble() * 0.4)
+                    : PathEngineTest.corridors(rnd, w, h);
+            boolean cyclic = rnd.nextBoolean();
+            Map map = new Map(arr);
+            map.setCyclic(cyclic);
+            CorridorGraph g = CorridorGraph.build(map, WALL);
+
+            for (int q = 0; q < 6; q++) {
+                Pixel2D s = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+                if (arr[s.getX()][s.getY()] == WALL) {
+                    assertNull(g.allDistance(s));
+                    continue;
+                }
+                int[][] expected = BfsEngineTest.referenceBfs(arr, s, cyclic);
+                assertArrayEquals(expected, g.allDistance(s).getMap(), "map " + t + " from " + s);
+                for (int x = 0; x < w; x++)
+                    for (int y = 0; y < h; y++)
+                        assertEquals(expected[x][y], g.distance(s, new Index2D(x, y)),
+                                "map " + t + " " + s + " -> (" + x + "," + y + ")");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("corridor graph: a corridor maze keeps under a third of its cells as nodes")
+    void corridorMaze_isCompressed() {
+        Map map = new Map(PathEngineTest.corridors(new Random(24), 41, 41));
+        map.setCyclic(false);
+        CorridorGraph g = CorridorGraph.build(map, WALL);
+
+        int walkable = 0;
+        for (int c = 0; c < map.getWidth() * map.getHeight(); c++) {
+            if (map.getAt(c) != WALL) walkable++;
+        }
+        assertTrue(g.nodeCount() * 3 < walkable, g.nodeCount() + " nodes for " + walkable + " cells");
+    }
+
+    @Test
+    @DisplayName("corridor graph: shortest paths on the default level are valid and as short as BFS")
+    void defaultLevel_paths() {
+        LevelBuilder.LevelData lvl = LevelBuilder.buildDefault(WALL, 3, 5);
+        Map map = new Map(lvl.board);
+        CorridorGraph g = CorridorGraph.build(map, WALL);
+        int w = map.getWidth(), h = map.getHeight();
+
+        for (int s = 0; s < w * h; s += 7) {
+            for (int t = 0; t < w * h; t += 5) {
+                Pixel2D a = Cells.pixel(s, h), b = Cells.pixel(t, h);
+                Pixel2D[] expected = map.shortestPath(a, b, WALL);
+                Pixel2D[] actual = g.shortestPath(a, b);
+                if (expected == null) {
+                    assertNull(actual);
+                    continue;
+                }
+                assertEquals(expected.length, actual.length, a + " -> " + b);
+                PathEngineTest.assertValidPath(map, actual, a, b);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("corridor graph: a ring without junctions becomes one node with a self-loop")
+    void ring_withoutJunction() {
+        Map map = new Map(5, 5, 0);
+        map.setCyclic(false);
+        for (int x = 1; x < 4; x++)
+            for (int y = 1; y < 4; y++)
+                map.setPixel(x, y, WALL);
+        CorridorGraph g = CorridorGraph.build(map, WALL);
+
+        assertEquals(1, g.nodeCount());
+        assertEquals(1, g.edgeCount());
+        assertEquals(8, g.distance(new Index2D(0, 0), new Index2D(4, 4)));
+        assertEquals(4, g.distance(new Index2D(2, 0), new Index2D(0, 2)));
+        Pixel2D[] path = g.shortestPath(new Index2D(4, 1), new Index2D(1, 4));
+        assertEquals(7, path.length);
+        PathEngineTest.assertValidPath(map, path, new Index2D(4, 1), new Index2D(1, 4));
+    }
+
+    @Test
+    @DisplayName("corridor engine: graph cached, rebuilt after a wall change or a cyclic toggle")
+    void engine_rebuildsOnWallChange() {
+        Map map = new Map(7, 3, 0);
+        map.setCyclic(false);
+        CorridorPathEngine e = new CorridorPathEngine();
+        map.setPathEngine(e);
+        CorridorGraph g = e.graph(map, WALL);
+        assertSame(g, e.graph(map, WALL));
+
+        map.setPixel(3, 0, 5);
+        assertSame(g, e.graph(map, WALL), "Non-wall writes keep the graph");
+        assertEquals(7, map.shortestPath(new Index2D(0, 1), new Index2D(6, 1), WALL).length);
+
+        for (int y = 0; y < 3; y++) map.setPixel(3, y, WALL);
+        assertNotSame(g, e.graph(map, WALL));
+        assertNull(map.shortestPath(new Index2D(0, 1), new Index2D(6, 1), WALL));
+
+        map.setCyclic(true);
+        assertEquals(2, map.shortestPath(new Index2D(0, 1), new Index2D(6, 1), WALL).length);
+    }
+
+    @Test
+    @DisplayName("corridor graph: outside and obstacle endpoints give -1 / null")
+    void invalidEndpoints() {
+        Map map = new Map(4, 4, 0);
+        map.setPixel(1, 1, WALL);
+        CorridorGraph g = CorridorGraph.build(map, WALL);
+        assertEquals(-1, g.distance(new Index2D(1, 1), new Index2D(0, 0)));
+        assertEquals(-1, g.distance(new Index2D(0, 0), new Index2D(4, 0)));
+        assertNull(g.shortestPath(null, new Index2D(0, 0)));
+        assertEquals(0, g.distance(new Index2D(2, 2), new Index2D(2, 2)));
+    }
+}
@@ -0,0 +1,87 @@
+package assignments;
+
+import MyGame.server.LevelBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the all-pairs distance table and its use behind Map.allDistance / allDistanceView.
+ * Distances are compared against the reference BFS of BfsEngineTest.
+ */
+public class DistanceTableTest {
+
+    private static final int WALL = 1;
+
+    @Test
+    @DisplayName("distance: matches a reference BFS for every pair on random maps")
+    void distance_matchesReference() {
+        Random rnd = new Random(11);
+        for (int t = 0; t < 20; t++) {
+            int w = 1 + rnd.nextInt(12), h = 1 + rnd.nextInt(12);
+            int[][] arr = BfsEngineTest.randomMaze(rnd, w, h, 0.3);
+            Map map = new Map(arr);
+            map.setCyclic(rnd.nextBoolean());
+            DistanceTable table = map.distanceTable(WALL);
+            assertNotNull(table);
+
+            for (int sx = 0; sx < w; sx++) {
+                for (int sy = 0; sy < h; sy++) {
+                    Pixel2D s = new Index2D(sx, sy);
+                    int[][] expected = BfsEngineTest.referenceBfs(arr, s, map.isCyclic());
+                    for (int x = 0; x < w; x++)
+                        for (int y = 0; y < h; y++)
+                            assertEquals(expected[x][y], table.distance(s, new Index2D(x, y)));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("allDistance/allDistanceView: served from the table with the same values as BFS")
+    void allDistance_servedFromTable() {
+        LevelBuilder.LevelData lvl = LevelBuilder.buildDefault(WALL, 3, 5);
+        Map map = new Map(lvl.board);
+        Map reference = new Map(lvl.board);
+        assertNotNull(map.distanceTable(WALL));
+
+        for (int x = 0; x < map.getWidth(); x++) {
+            for (int y = 0; y < map.getHeight(); y++) {
+                Pixel2D s = new Index2D(x, y);
+                int[][] expected = reference.allDistance(s, WALL).getMap();
+                assertArrayEquals(expected, map.allDistance(s, WALL).getMap());
+                assertArrayEquals(expected, map.allDistanceView(s, WALL).getMap());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("distanceTable: dropped when a wall changes, kept when only free cells change")
+    void distanceTable_invalidation() {
+        Map map = new Map(5, 1, 0);
+        map.setCyclic(false);
+        DistanceTable t = map.distanceTable(WALL);
+
+        map.setPixel(2, 0, 7);
+        assertSame(t, map.distanceTable(WALL), "Changing a free cell keeps the table");
+
+        map.setPixel(2, 0, WALL);
+        assertEquals(-1, map.allDistanceView(new Index2D(0, 0), WALL).getPixel(4, 0));
+        assertNotSame(t, map.distanceTable(WALL), "Adding a wall drops the table");
+
+        map.setCyclic(true);
+        assertEquals(1, map.allDistanceView(new Index2D(0, 0), WALL).getPixel(4, 0),
+                "A different cyclic mode must not be served from the old table");
+    }
+
+    @Test
+    @DisplayName("distanceTable: null when the map has more than MAX_CELLS walkable cells")
+    void distanceTable_tooLarge() {
+        Map map = new Map(DistanceTable.MAX_CELLS + 1, 1, 0);
+        assertNull(map.distanceTable(WALL));
+        assertEquals(3, map.allDistanceView(new Index2D(0, 0), WALL).getPixel(3, 0));
+    }
+}
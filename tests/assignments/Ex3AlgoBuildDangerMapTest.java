@@ -116,6 +116,32 @@ public class Ex3AlgoBuildDangerMapTest {
         assertTrue(danger[2][3] < Double.POSITIVE_INFINITY);
     }
 
+    @Test
+    @DisplayName("buildDangerMap: GhostTiming ghosts are timed by pace, phase and release delay")
+    void buildDangerMap_timedGhosts_arrivalTimes() {
+        Ex3Algo algo = new Ex3Algo();
+        initBlue(algo);
+
+        int[][] board = emptyBoard(9, 1);
+        Map map = new Map(board);
+        map.setCyclic(false);
+
+        // Steps every 2 moves, next step in 1 move
+        GhostCL slow = timedGhostProxy(1, "0,0", 2, 1);
+        double[][] danger = invokeBuildDangerMap(algo, map, board, new GhostCL[]{slow});
+        assertEquals(0.0, danger[0][0], 1e-9);
+        assertEquals(1.0, danger[1][0], 1e-9);
+        assertEquals(3.0, danger[2][0], 1e-9);
+        assertEquals(15.0, danger[8][0], 1e-9);
+
+        // A ghost in the house (status 0) still counts, after its release delay
+        GhostCL housed = timedGhostProxy(0, "8,0", 1, 10);
+        danger = invokeBuildDangerMap(algo, map, board, new GhostCL[]{slow, housed});
+        assertEquals(0.0, danger[8][0], 1e-9);
+        assertEquals(10.0, danger[7][0], 1e-9);
+        assertEquals(9.0, danger[5][0], 1e-9, "The slow ghost is there first");
+    }
+
     /* ================= helpers ================= */
 
     private static int[][] emptyBoard(int w, int h) {
@@ -151,6 +177,28 @@ public class Ex3AlgoBuildDangerMapTest {
         );
     }
 
+    /** Dangerous ghost that also implements GhostTiming. */
+    private static GhostCL timedGhostProxy(int status, String pos, int movesPerStep, int movesUntilNextStep) {
+        return (GhostCL) Proxy.newProxyInstance(
+                GhostCL.class.getClassLoader(),
+                new Class[]{GhostCL.class, GhostTiming.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("getStatus")) return status;
+                    if (name.equals("remainTimeAsEatable")) return -1.0;
+                    if (name.equals("getPos")) return pos;
+                    if (name.equals("movesPerStep")) return movesPerStep;
+                    if (name.equals("movesUntilNextStep")) return movesUntilNextStep;
+
+                    Class<?> rt = method.getReturnType();
+                    if (rt.equals(boolean.class)) return false;
+                    if (rt.equals(int.class)) return 0;
+                    if (rt.equals(double.class)) return 0.0;
+                    return null;
+                }
+        );
+    }
+
     private static void initBlue(Ex3Algo algo) {
         setIntField(algo, "BLUE", Game.getIntColor(Color.BLUE, 0));
     }
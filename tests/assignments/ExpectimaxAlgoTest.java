@@ -0,0 +1,232 @@
+package assignments;
+
+import MyGame.client.BatchMain;
+import exe.ex3.game.Game;
+import exe.ex3.game.GhostCL;
+import exe.ex3.game.PacmanGame;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the expectimax planner. Searches run without a time limit, so they are deterministic.
+ */
+public class ExpectimaxAlgoTest {
+
+    @Test
+    @DisplayName("move: a legal direction, the same one on a fresh planner")
+    void move_legalAndDeterministic() {
+        assumeProxies();
+        int[][] board = ring();
+        board[8][4] = PINK();
+        board[4][8] = PINK();
+        GhostCL[] ghosts = {ghostProxy(1, -1, "7,0")};
+
+        int a = new ExpectimaxAlgo(4, 0, 120).move(gameProxy(board, "0,4", ghosts));
+        int b = new ExpectimaxAlgo(4, 0, 120).move(gameProxy(board, "0,4", ghosts));
+        assertTrue(a == Game.DOWN || a == Game.RIGHT || a == Game.UP, "LEFT leaves the board");
+        assertEquals(a, b);
+    }
+
+    @Test
+    @DisplayName("move: eats the adjacent PINK")
+    void move_eatsAdjacentPink() {
+        assumeProxies();
+        int[][] board = ring();
+        board[1][4] = PINK();
+        board[8][8] = PINK();
+
+        int dir = new ExpectimaxAlgo(4, 0, 120).move(gameProxy(board, "0,4", new GhostCL[0]));
+        assertEquals(Game.RIGHT, dir);
+    }
+
+    @Test
+    @DisplayName("move: never steps onto an adjacent dangerous ghost that stays for this move")
+    void move_avoidsAdjacentGhost() {
+        assumeProxies();
+        int[][] board = ring();
+        board[0][8] = PINK();
+        board[8][8] = PINK();
+        GhostCL[] ghosts = {timedGhostProxy("0,5", 2, 2)};
+
+        int dir = new ExpectimaxAlgo(4, 0, 120).move(gameProxy(board, "0,4", ghosts));
+        assertNotEquals(Game.UP, dir);
+    }
+
+    @Test
+    @DisplayName("move: takes the last PINK even next to a ghost (the level is won before ghosts move)")
+    void move_takesWinningPink() {
+        assumeProxies();
+        int[][] board = ring();
+        board[0][5] = PINK();
+        GhostCL[] ghosts = {ghostProxy(1, -1, "0,6")};
+
+        int dir = new ExpectimaxAlgo(4, 0, 120).move(gameProxy(board, "0,4", ghosts));
+        assertEquals(Game.UP, dir);
+    }
+
+    @Test
+    @DisplayName("move: a ghost out of reach of the horizon adds no search nodes")
+    void move_farGhostIsNotExpanded() {
+        assumeProxies();
+        int[][] board = ring();
+        board[8][8] = PINK();
+        board[8][0] = PINK();
+
+        ExpectimaxAlgo alone = new ExpectimaxAlgo(3, 0, 120);
+        int a = alone.move(gameProxy(board, "0,1", new GhostCL[0]));
+        ExpectimaxAlgo far = new ExpectimaxAlgo(3, 0, 120);
+        int b = far.move(gameProxy(board, "0,1", new GhostCL[]{ghostProxy(1, -1, "8,7")}));
+        ExpectimaxAlgo near = new ExpectimaxAlgo(3, 0, 120);
+        near.move(gameProxy(board, "0,1", new GhostCL[]{ghostProxy(1, -1, "0,5")}));
+
+        assertEquals(a, b);
+        assertEquals(alone.lastNodeCount(), far.lastNodeCount());
+        assertTrue(near.lastNodeCount() > alone.lastNodeCount());
+    }
+
+    @Test
+    @DisplayName("move: a ghost in the house is not feared")
+    void move_houseGhostIsInert() {
+        assumeProxies();
+        int[][] board = ring();
+        board[0][5] = PINK();
+        board[8][8] = PINK();
+        GhostCL[] ghosts = {ghostProxy(0, -1, "0,6")};
+
+        int dir = new ExpectimaxAlgo(4, 0, 120).move(gameProxy(board, "0,4", ghosts));
+        assertEquals(Game.UP, dir);
+    }
+
+    @Test
+    @DisplayName("move: the search allocates nothing per node once warmed up")
+    void move_searchAllocationFree() {
+        assumeProxies();
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "Allocation counter not available");
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(mx.isThreadAllocatedMemorySupported(), "Allocation counter not supported");
+        mx.setThreadAllocatedMemoryEnabled(true);
+
+        int[][] board = ring();
+        board[8][8] = PINK();
+        board[8][0] = PINK();
+        PacmanGame game = gameProxy(board, "0,4", new GhostCL[]{ghostProxy(1, -1, "0,7"), ghostProxy(1, -1, "1,0")});
+        ExpectimaxAlgo algo = new ExpectimaxAlgo(6, 0, 120);
+        for (int i = 0; i < 20; i++) algo.move(game);
+
+        long tid = Thread.currentThread().getId();
+        long before = mx.getThreadAllocatedBytes(tid);
+        algo.move(game);
+        long after = mx.getThreadAllocatedBytes(tid);
+
+        // A per-node move buffer alone would take 32 bytes per node
+        assertTrue(algo.lastNodeCount() > 10_000, "nodes: " + algo.lastNodeCount());
+        assertTrue(after - before < algo.lastNodeCount(),
+                (after - before) + " bytes for " + algo.lastNodeCount() + " nodes");
+    }
+
+    @Test
+    @DisplayName("constructor: rejects a depth below 1 and a non-positive move time")
+    void constructor_rejectsBadArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpectimaxAlgo(0, 0, 120));
+        assertThrows(IllegalArgumentException.class, () -> new ExpectimaxAlgo(4, 0, 0));
+    }
+
+    @Test
+    @DisplayName("server games: a shallow search clears the default level")
+    void batch_shallowSearchWins() throws Exception {
+        BatchMain.Config c = new BatchMain.Config();
+        c.fromSeed = 0;
+        c.toSeed = 3;
+        c.threads = 1;
+        c.algo = () -> new ExpectimaxAlgo(3, 0, c.msPerTick);
+        BatchMain.Report r = BatchMain.run(c);
+        assertTrue(r.wins() >= 3, r.toString());
+    }
+
+    /* ================= helpers ================= */
+
+    private static void assumeProxies() {
+        Assumptions.assumeTrue(PacmanGame.class.isInterface(), "PacmanGame not interface here; skipping proxy-based test.");
+        Assumptions.assumeTrue(GhostCL.class.isInterface(), "GhostCL not interface here; skipping proxy-based test.");
+    }
+
+    private static int BLUE() { return Game.getIntColor(Color.BLUE, 0); }
+    private static int PINK() { return Game.getIntColor(Color.PINK, 0); }
+
+    /** 9x9 board whose center (the ghost house area) is walled, leaving a ring two cells wide. */
+    private static int[][] ring() {
+        int[][] board = new int[9][9];
+        for (int x = 2; x <= 6; x++)
+            for (int y = 2; y <= 6; y++)
+                board[x][y] = BLUE();
+        return board;
+    }
+
+    private static PacmanGame gameProxy(int[][] board, String pacPos, GhostCL[] ghosts) {
+        return (PacmanGame) Proxy.newProxyInstance(
+                PacmanGame.class.getClassLoader(),
+                new Class[]{PacmanGame.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("getGame")) return board;
+                    if (name.equals("getPos")) return pacPos;
+                    if (name.equals("getGhosts")) return ghosts;
+
+                    Class<?> rt = method.getReturnType();
+                    if (rt.equals(boolean.class)) return false;
+                    if (rt.equals(int.class)) return 0;
+                    if (rt.equals(double.class)) return 0.0;
+                    return null;
+                }
+        );
+    }
+
+    /** Released, dangerous ghost that also reports its pace (GhostTiming). */
+    private static GhostCL timedGhostProxy(String pos, int first, int period) {
+        return (GhostCL) Proxy.newProxyInstance(
+                GhostCL.class.getClassLoader(),
+                new Class[]{GhostCL.class, GhostTiming.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("getStatus")) return 1;
+                    if (name.equals("remainTimeAsEatable")) return -1.0;
+                    if (name.equals("getPos")) return pos;
+                    if (name.equals("movesUntilNextStep")) return first;
+                    if (name.equals("movesPerStep")) return period;
+
+                    Class<?> rt = method.getReturnType();
+                    if (rt.equals(boolean.class)) return false;
+                    if (rt.equals(int.class)) return 0;
+                    if (rt.equals(double.class)) return 0.0;
+                    return null;
+                }
+        );
+    }
+
+    private static GhostCL ghostProxy(int status, double eatableTime, String pos) {
+        return (GhostCL) Proxy.newProxyInstance(
+                GhostCL.class.getClassLoader(),
+                new Class[]{GhostCL.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("getStatus")) return status;
+                    if (name.equals("remainTimeAsEatable")) return eatableTime;
+                    if (name.equals("getPos")) return pos;
+
+                    Class<?> rt = method.getReturnType();
+                    if (rt.equals(boolean.class)) return false;
+                    if (rt.equals(int.class)) return 0;
+                    if (rt.equals(double.class)) return 0.0;
+                    return null;
+                }
+        );
+    }
+}
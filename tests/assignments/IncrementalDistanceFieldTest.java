@@ -0,0 +1,119 @@
+package assignments;
+
+import MyGame.server.LevelBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the incrementally repaired multi-source distance field.
+ * After every update the field must be bit-identical to a fresh Map.allDistanceMulti.
+ */
+public class IncrementalDistanceFieldTest {
+
+    private static final int WALL = 1;
+
+    @Test
+    @DisplayName("update: random one-step walks on random maps stay identical to a fresh rebuild")
+    void update_randomWalks_matchRebuild() {
+        Random rnd = new Random(5);
+        for (int t = 0; t < 30; t++) {
+            int w = 2 + rnd.nextInt(18), h = 2 + rnd.nextInt(18);
+            Map map = new Map(BfsEngineTest.randomMaze(rnd, w, h, 0.25));
+            map.setCyclic(rnd.nextBoolean());
+            Map reference = new Map(map.getMap());
+            reference.setCyclic(map.isCyclic());
+
+            IncrementalDistanceField field = new IncrementalDistanceField(map, WALL);
+            Pixel2D[] slots = new Pixel2D[1 + rnd.nextInt(4)];
+            for (int i = 0; i < slots.length; i++) slots[i] = randomFree(rnd, map);
+
+            for (int step = 0; step < 60; step++) {
+                int[] actual = field.update(slots);
+                int[] expected = reference.allDistanceMulti(slots, WALL);
+                assertArrayEquals(Arrays.copyOf(expected, w * h), Arrays.copyOf(actual, w * h),
+                        "Mismatch at map " + t + ", step " + step);
+
+                for (int i = 0; i < slots.length; i++) {
+                    int r = rnd.nextInt(10);
+                    if (r == 0) slots[i] = null;                     // ghost stops being dangerous
+                    else if (slots[i] == null) slots[i] = randomFree(rnd, map);
+                    else if (r > 2) slots[i] = randomStep(rnd, map, slots[i]);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("update: one-cell steps are repaired, teleports fall back to a full rebuild")
+    void update_teleportFallsBack() {
+        Map map = new Map(LevelBuilder.buildDefault(WALL, 3, 5).board);
+        Map reference = new Map(map.getMap());
+        IncrementalDistanceField field = new IncrementalDistanceField(map, WALL);
+
+        Pixel2D a = firstFree(map, 0);
+        Pixel2D[] slots = {a, null};
+        field.update(slots);
+        assertEquals(1, field.fullRebuilds());
+
+        for (int i = 0; i < 20; i++) {
+            slots[0] = randomStep(new Random(i), map, slots[0]);
+            assertArrayEquals(reference.allDistanceMulti(slots, WALL), field.update(slots));
+        }
+        assertEquals(1, field.fullRebuilds(), "Single steps must not rebuild");
+
+        slots[0] = firstFree(map, map.getWidth() - 1);
+        assertArrayEquals(reference.allDistanceMulti(slots, WALL), field.update(slots));
+        assertEquals(2, field.fullRebuilds(), "A jump across the maze must rebuild");
+
+        field.update(new Pixel2D[]{slots[0]});
+        assertEquals(3, field.fullRebuilds(), "A different slot count must rebuild");
+    }
+
+    @Test
+    @DisplayName("update: two slots sharing a cell, then one leaving, keeps the cell a source")
+    void update_sharedCell() {
+        Map map = new Map(7, 1, 0);
+        map.setCyclic(false);
+        IncrementalDistanceField field = new IncrementalDistanceField(map, WALL);
+
+        Pixel2D[] slots = {new Index2D(3, 0), new Index2D(3, 0)};
+        field.update(slots);
+        slots[1] = new Index2D(4, 0);
+        assertArrayEquals(new int[]{3, 2, 1, 0, 0, 1, 2}, field.update(slots));
+        slots[0] = new Index2D(4, 0);
+        assertArrayEquals(new int[]{4, 3, 2, 1, 0, 1, 2}, field.update(slots));
+    }
+
+    /* ================= helpers ================= */
+
+    private static Pixel2D randomFree(Random rnd, Map map) {
+        for (int i = 0; i < 50; i++) {
+            Pixel2D p = new Index2D(rnd.nextInt(map.getWidth()), rnd.nextInt(map.getHeight()));
+            if (map.getPixel(p) != WALL) return p;
+        }
+        return null;
+    }
+
+    private static Pixel2D randomStep(Random rnd, Map map, Pixel2D p) {
+        int[][] dirs = {{0, 1}, {0, -1}, {1, 0}, {-1, 0}};
+        int[] d = dirs[rnd.nextInt(4)];
+        int w = map.getWidth(), h = map.getHeight();
+        int x = p.getX() + d[0], y = p.getY() + d[1];
+        if (map.isCyclic()) { x = (x + w) % w; y = (y + h) % h; }
+        if (x < 0 || y < 0 || x >= w || y >= h || map.getPixel(x, y) == WALL) return p;
+        return new Index2D(x, y);
+    }
+
+    private static Pixel2D firstFree(Map map, int x) {
+        for (int y = 0; y < map.getHeight(); y++) if (map.getPixel(x, y) != WALL) return new Index2D(x, y);
+        for (int xx = 0; xx < map.getWidth(); xx++)
+            for (int y = 0; y < map.getHeight(); y++)
+                if (map.getPixel(xx, y) != WALL) return new Index2D(xx, y);
+        throw new AssertionError("No free cell");
+    }
+}
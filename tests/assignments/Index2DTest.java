@@ -0,0 +1,67 @@
+package assignments;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the integer equality, hashing and interning of Index2D.
+ */
+public class Index2DTest {
+
+    @Test
+    @DisplayName("equals / hashCode: integer coordinates only, any Pixel2D with the same x,y is equal")
+    void equalsHashCode_integerOnly() {
+        Index2D a = new Index2D(3, 7);
+        assertEquals(a, new Index2D(3, 7));
+        assertEquals(a.hashCode(), new Index2D(3, 7).hashCode());
+        assertNotEquals(a, new Index2D(7, 3));
+        assertNotEquals(a, new Index2D(3, 8));
+        assertNotEquals(a, "3,7");
+        assertNotEquals(a, null);
+        assertEquals(a, pixel(3, 7), "Other Pixel2D implementations compare by coordinates");
+        assertEquals(new Index2D(-2, 5), new Index2D("-2,5"));
+    }
+
+    @Test
+    @DisplayName("hashCode: distinct for every cell of a 256x256 grid, usable as a HashSet key")
+    void hashCode_distinctOnGrid() {
+        Set<Integer> hashes = new HashSet<>();
+        Set<Pixel2D> cells = new HashSet<>();
+        for (int x = 0; x < 256; x++)
+            for (int y = 0; y < 256; y++) {
+                assertTrue(hashes.add(new Index2D(x, y).hashCode()));
+                cells.add(new Index2D(x, y));
+            }
+        assertEquals(256 * 256, cells.size());
+        assertTrue(cells.contains(Index2D.of(255, 0)));
+        assertFalse(cells.contains(new Index2D(256, 0)));
+    }
+
+    @Test
+    @DisplayName("of: shared instances inside the cache, fresh equal instances outside")
+    void of_interning() {
+        assertSame(Index2D.of(0, 0), Index2D.of(0, 0));
+        int last = Index2D.CACHE_SIDE - 1;
+        assertSame(Index2D.of(last, last), Index2D.of(last, last));
+        assertEquals(new Index2D(last, 4), Index2D.of(last, 4));
+
+        assertNotSame(Index2D.of(Index2D.CACHE_SIDE, 0), Index2D.of(Index2D.CACHE_SIDE, 0));
+        assertEquals(new Index2D(-1, 2), Index2D.of(-1, 2));
+        assertEquals(new Index2D(5000, 70000), Index2D.of(5000, 70000));
+    }
+
+    /* ================= helpers ================= */
+
+    private static Pixel2D pixel(int x, int y) {
+        return new Pixel2D() {
+            public int getX() { return x; }
+            public int getY() { return y; }
+            public double distance2D(Pixel2D p) { return new Index2D(x, y).distance2D(p); }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package assignments;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the time-to-intercept field behind the danger map.
+ */
+public class InterceptFieldTest {
+
+    private static final int WALL = 1;
+
+    @Test
+    @DisplayName("intercept field: with one move per step it equals the multi-source BFS")
+    void unitPace_matchesMultiSourceBfs() {
+        Random rnd = new Random(24);
+        for (int t = 0; t < 40; t++) {
+            int w = 2 + rnd.nextInt(20), h = 2 + rnd.nextInt(20);
+            Map map = new Map(BfsEngineTest.randomMaze(rnd, w, h, 0.3));
+            map.setCyclic(rnd.nextBoolean());
+            Pixel2D[] ghosts = new Pixel2D[1 + rnd.nextInt(4)];
+            for (int i = 0; i < ghosts.length; i++) ghosts[i] = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+            int[] ones = new int[ghosts.length];
+            java.util.Arrays.fill(ones, 1);
+
+            int[] expected = map.allDistanceMulti(ghosts, WALL).clone();
+            int[] actual = new InterceptField(map, WALL).update(ghosts, ones, ones);
+            for (int c = 0; c < w * h; c++) assertEquals(expected[c], actual[c], "map " + t + " cell " + c);
+        }
+    }
+
+    @Test
+    @DisplayName("intercept field: a slow ghost in front does not hide a fast ghost behind it")
+    void mixedPaces_minimumPerCell() {
+        Map map = new Map(12, 1, 0);
+        map.setCyclic(false);
+        Pixel2D[] ghosts = {new Index2D(4, 0), new Index2D(0, 0)};
+        int[] time = new InterceptField(map, WALL).update(ghosts, new int[]{2, 1}, new int[]{3, 1});
+
+        assertEquals(0, time[4]);
+        assertEquals(2, time[5], "Slow ghost: first step after 2 moves");
+        assertEquals(5, time[6], "Slow ghost: then every 3 moves");
+        assertEquals(7, time[7], "Fast ghost from (0,0) is there first");
+        assertEquals(11, time[11]);
+    }
+
+    @Test
+    @DisplayName("intercept field: arrival formula, skipped ghosts and walls")
+    void arrival_andSkippedSources() {
+        assertEquals(0, InterceptField.arrival(0, 5, 3));
+        assertEquals(5, InterceptField.arrival(1, 5, 3));
+        assertEquals(11, InterceptField.arrival(3, 5, 3));
+        assertEquals(Integer.MAX_VALUE, InterceptField.arrival(3, Integer.MAX_VALUE, 2));
+
+        Map map = new Map(5, 1, 0);
+        map.setCyclic(false);
+        map.setPixel(2, 0, WALL);
+        int[] time = new InterceptField(map, WALL).update(
+                new Pixel2D[]{null, new Index2D(2, 0), new Index2D(0, 0)}, new int[]{1, 1, 1}, new int[]{1, 1, 1});
+        assertArrayEquals(new int[]{0, 1, -1, -1, -1}, time);
+    }
+}
@@ -0,0 +1,296 @@
+package assignments;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contract tests for Map (flat int[] backing store).
+ * The public behavior must match the Map2D interface exactly,
+ * independent of how the raster is stored internally.
+ */
+public class MapTest {
+
+    @Test
+    @DisplayName("init(int[][]): getMap returns an equal deep copy")
+    void init_array_roundTrip() {
+        int[][] src = {{1, 2, 3}, {4, 5, 6}};
+        Map map = new Map(src);
+
+        int[][] copy = map.getMap();
+        assertEquals(2, map.getWidth());
+        assertEquals(3, map.getHeight());
+        for (int x = 0; x < 2; x++) {
+            assertArrayEquals(src[x], copy[x], "Row " + x + " must match the source");
+        }
+
+        copy[0][0] = 99;
+        src[1][1] = 77;
+        assertEquals(1, map.getPixel(0, 0), "getMap must return a deep copy");
+        assertEquals(5, map.getPixel(1, 1), "init must deep copy the source array");
+    }
+
+    @Test
+    @DisplayName("init(w,h,v): every cell holds v")
+    void init_fillValue() {
+        Map map = new Map(4, 3, 7);
+        for (int x = 0; x < 4; x++) {
+            for (int y = 0; y < 3; y++) {
+                assertEquals(7, map.getPixel(x, y));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("init: rejects null, empty and ragged arrays")
+    void init_rejectsBadInput() {
+        assertThrows(RuntimeException.class, () -> new Map(null));
+        assertThrows(RuntimeException.class, () -> new Map(new int[0][0]));
+        assertThrows(RuntimeException.class, () -> new Map(new int[][]{{1, 2}, {3}}));
+        assertThrows(RuntimeException.class, () -> new Map(0, 3, 0));
+    }
+
+    @Test
+    @DisplayName("getPixel/setPixel: out of bounds throws, in bounds round-trips")
+    void pixel_access_bounds() {
+        Map map = new Map(3, 2, 0);
+        map.setPixel(2, 1, 9);
+        map.setPixel(new Index2D(0, 1), 4);
+
+        assertEquals(9, map.getPixel(new Index2D(2, 1)));
+        assertEquals(4, map.getPixel(0, 1));
+        assertThrows(RuntimeException.class, () -> map.getPixel(3, 0));
+        assertThrows(RuntimeException.class, () -> map.getPixel(0, -1));
+        assertThrows(RuntimeException.class, () -> map.setPixel(-1, 0, 1));
+        assertThrows(RuntimeException.class, () -> map.getPixel(null));
+        assertFalse(map.isInside(new Index2D(1, 2)));
+    }
+
+    @Test
+    @DisplayName("internal accessors: flat index is x*h+y")
+    void internal_indexLayout() {
+        Map map = new Map(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        assertEquals(4, map.indexOf(1, 1));
+        assertEquals(5, map.getAt(map.indexOf(1, 1)));
+        map.setAt(map.indexOf(0, 2), 42);
+        assertEquals(42, map.getPixel(0, 2));
+    }
+
+    @Test
+    @DisplayName("allDistance: cyclic map wraps around the borders")
+    void allDistance_cyclic() {
+        Map map = new Map(5, 1, 0);
+        map.setCyclic(true);
+        Map2D d = map.allDistance(new Index2D(0, 0), 1);
+        assertEquals(1, d.getPixel(4, 0), "Left of x=0 is x=w-1 on a cyclic map");
+
+        map.setCyclic(false);
+        d = map.allDistance(new Index2D(0, 0), 1);
+        assertEquals(4, d.getPixel(4, 0));
+    }
+
+    @Test
+    @DisplayName("allDistance: obstacles and unreachable cells are -1")
+    void allDistance_obstacles() {
+        int[][] arr = new int[3][3];
+        arr[1][0] = 1; arr[1][1] = 1; arr[1][2] = 1;
+        Map map = new Map(arr);
+        map.setCyclic(false);
+
+        Map2D d = map.allDistance(new Index2D(0, 0), 1);
+        assertEquals(0, d.getPixel(0, 0));
+        assertEquals(2, d.getPixel(0, 2));
+        assertEquals(-1, d.getPixel(1, 1), "Obstacle must be -1");
+        assertEquals(-1, d.getPixel(2, 2), "Cells behind a wall must be -1");
+    }
+
+    @Test
+    @DisplayName("shortestPath: returns a consecutive path of minimal length")
+    void shortestPath_minimal() {
+        int[][] arr = new int[4][4];
+        arr[1][0] = 1; arr[1][1] = 1; arr[1][2] = 1;
+        Map map = new Map(arr);
+        map.setCyclic(false);
+
+        Pixel2D[] path = map.shortestPath(new Index2D(0, 0), new Index2D(2, 0), 1);
+        assertNotNull(path);
+        assertEquals(9, path.length, "Path must go around the wall");
+        assertEquals(new Index2D(0, 0), path[0]);
+        assertEquals(new Index2D(2, 0), path[path.length - 1]);
+        for (int i = 1; i < path.length; i++) {
+            int dx = Math.abs(path[i].getX() - path[i - 1].getX());
+            int dy = Math.abs(path[i].getY() - path[i - 1].getY());
+            assertEquals(1, dx + dy, "Consecutive path cells must be neighbors");
+        }
+    }
+
+    @Test
+    @DisplayName("fill: recolors exactly the connected component")
+    void fill_component() {
+        int[][] arr = new int[3][3];
+        arr[1][0] = 1; arr[1][1] = 1; arr[1][2] = 1;
+        Map map = new Map(arr);
+        map.setCyclic(false);
+
+        int n = map.fill(new Index2D(0, 0), 5);
+        assertEquals(3, n);
+        assertEquals(5, map.getPixel(0, 2));
+        assertEquals(0, map.getPixel(2, 2), "Other side of the wall must be untouched");
+        assertEquals(0, map.fill(new Index2D(0, 0), 5), "Filling with the same color changes nothing");
+    }
+
+    @Test
+    @DisplayName("distanceToNearest / nearestWithValue: match a full BFS scan, honor the radius cap")
+    void nearestWithValue_matchesFullBfs() {
+        Random rnd = new Random(16);
+        for (int t = 0; t < 40; t++) {
+            int w = 2 + rnd.nextInt(14), h = 2 + rnd.nextInt(14);
+            int[][] arr = BfsEngineTest.randomMaze(rnd, w, h, 0.25);
+            for (int x = 0; x < w; x++)
+                for (int y = 0; y < h; y++)
+                    if (arr[x][y] == 0 && rnd.nextInt(12) == 0) arr[x][y] = 7;
+            Map map = new Map(arr);
+            map.setCyclic(rnd.nextBoolean());
+            Pixel2D s = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+
+            Map2D full = map.allDistance(s, 1);
+            int best = -1, bx = -1, by = -1;
+            for (int x = 0; x < w; x++)
+                for (int y = 0; y < h; y++) {
+                    int d = full.getPixel(x, y);
+                    if (arr[x][y] == 7 && d != -1 && (best < 0 || d < best)) { best = d; bx = x; by = y; }
+                }
+
+            assertEquals(best, map.distanceToNearest(s, 7, 1, Integer.MAX_VALUE), "map " + t);
+            Pixel2D p = map.nearestWithValue(s, 7, 1, Integer.MAX_VALUE);
+            if (best < 0) assertNull(p);
+            else assertEquals(new Index2D(bx, by), p, "First nearest cell in x-then-y order");
+
+            int cap = rnd.nextInt(5);
+            assertEquals(best >= 0 && best <= cap ? best : -1, map.distanceToNearest(s, 7, 1, cap));
+        }
+    }
+
+    @Test
+    @DisplayName("distance / distanceToAny: match allDistance with and without a distance table")
+    void distanceToAny_matchesAllDistance() {
+        Random rnd = new Random(17);
+        for (int t = 0; t < 40; t++) {
+            int w = 2 + rnd.nextInt(14), h = 2 + rnd.nextInt(14);
+            Map map = new Map(BfsEngineTest.randomMaze(rnd, w, h, 0.25));
+            map.setCyclic(rnd.nextBoolean());
+            if (t % 2 == 1) map.distanceTable(1);
+            Pixel2D s = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+            Map2D full = map.allDistance(s, 1);
+
+            Pixel2D[] targets = new Pixel2D[1 + rnd.nextInt(3)];
+            int best = -1;
+            for (int i = 0; i < targets.length; i++) {
+                targets[i] = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+                int d = full.getPixel(targets[i]);
+                assertEquals(d, map.distance(s, targets[i], 1, Integer.MAX_VALUE));
+                if (d != -1 && (best < 0 || d < best)) best = d;
+            }
+            assertEquals(best, map.distanceToAny(s, targets, 1, Integer.MAX_VALUE), "map " + t);
+
+            int cap = rnd.nextInt(4);
+            int capped = map.distance(s, targets[0], 1, cap);
+            int d0 = full.getPixel(targets[0]);
+            assertEquals(d0 != -1 && d0 <= cap ? d0 : -1, capped);
+        }
+    }
+
+    @Test
+    @DisplayName("bounded searches: outside start gives -1, negative radius is rejected")
+    void boundedSearch_edges() {
+        Map map = new Map(4, 4, 0);
+        assertEquals(-1, map.distance(new Index2D(9, 9), new Index2D(0, 0), 1, 5));
+        assertEquals(0, map.distanceToAny(new Index2D(1, 1), new Pixel2D[]{null, new Index2D(1, 1)}, 1, 0));
+        assertThrows(RuntimeException.class, () -> map.distanceToNearest(new Index2D(0, 0), 0, 1, -1));
+        assertThrows(RuntimeException.class, () -> map.distanceToAny(new Index2D(0, 0), null, 1, 3));
+    }
+
+    @Test
+    @DisplayName("fill: scanline and parallel tile fills match a reference BFS, cyclic or not")
+    void fill_modesMatchReference() {
+        Random rnd = new Random(19);
+        for (int t = 0; t < 60; t++) {
+            int w = 1 + rnd.nextInt(20), h = 1 + rnd.nextInt(20);
+            boolean cyclic = rnd.nextBoolean();
+            int[][] arr = new int[w][h];
+            for (int x = 0; x < w; x++)
+                for (int y = 0; y < h; y++) arr[x][y] = rnd.nextInt(10) < 6 ? 0 : 1 + rnd.nextInt(2);
+            int sx = rnd.nextInt(w), sy = rnd.nextInt(h);
+
+            int[][] expected = copy(arr);
+            int n = referenceFill(expected, sx, sy, 9, cyclic);
+
+            Map scan = new Map(arr);
+            scan.setCyclic(cyclic);
+            assertEquals(n, scan.fill(new Index2D(sx, sy), 9), "scanline, map " + t);
+            assertArrayEquals(expected, scan.getMap(), "scanline, map " + t);
+
+            Map tiles = new Map(arr);
+            tiles.setCyclic(cyclic);
+            int tileCells = h * (1 + rnd.nextInt(3));     // one to three columns per tile
+            int m = FloodFill.parallel(tiles.data(), w, h, cyclic, tiles.indexOf(sx, sy), 9, tileCells);
+            assertEquals(n, m, "tiles, map " + t);
+            assertArrayEquals(expected, tiles.getMap(), "tiles, map " + t);
+        }
+    }
+
+    @Test
+    @DisplayName("fill: parallel threshold switches a large map to the tile fill with the same result")
+    void fill_parallelThreshold() {
+        Random rnd = new Random(20);
+        int w = 700, h = 500;
+        int[][] arr = BfsEngineTest.randomMaze(rnd, w, h, 0.3);
+        int[][] expected = copy(arr);
+        int n = referenceFill(expected, 0, 0, 5, true);
+
+        Map map = new Map(arr);
+        assertEquals(Map.DEFAULT_PARALLEL_CELLS, map.getParallelThreshold());
+        map.setParallelThreshold(0);
+        assertEquals(n, map.fill(new Index2D(0, 0), 5));
+        assertArrayEquals(expected, map.getMap());
+        assertThrows(RuntimeException.class, () -> map.setParallelThreshold(-1));
+    }
+
+    /* ================= helpers ================= */
+
+    private static int[][] copy(int[][] a) {
+        int[][] c = new int[a.length][];
+        for (int i = 0; i < a.length; i++) c[i] = a[i].clone();
+        return c;
+    }
+
+    /** Plain BFS fill on a matrix; returns the number of changed cells. */
+    private static int referenceFill(int[][] a, int sx, int sy, int v, boolean cyclic) {
+        int w = a.length, h = a[0].length, old = a[sx][sy];
+        if (old == v) return 0;
+        ArrayDeque<int[]> q = new ArrayDeque<>();
+        a[sx][sy] = v;
+        q.add(new int[]{sx, sy});
+        int n = 0;
+        int[][] dirs = {{0, -1}, {-1, 0}, {0, 1}, {1, 0}};
+        while (!q.isEmpty()) {
+            int[] c = q.poll();
+            n++;
+            for (int[] d : dirs) {
+                int x = c[0] + d[0], y = c[1] + d[1];
+                if (cyclic) {
+                    x = (x + w) % w;
+                    y = (y + h) % h;
+                } else if (x < 0 || y < 0 || x >= w || y >= h) continue;
+                if (a[x][y] != old) continue;
+                a[x][y] = v;
+                q.add(new int[]{x, y});
+            }
+        }
+        return n;
+    }
+}
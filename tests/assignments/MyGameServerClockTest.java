@@ -0,0 +1,116 @@
+package assignments;
+
+import MyGame.adapters.MyPacmanGameAdapter;
+import MyGame.server.MyGameServer;
+import MyGame.server.SimClock;
+import exe.ex3.game.GhostCL;
+import exe.ex3.game.PacmanGame;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyGameServerClockTest {
+
+    @Test
+    @DisplayName("ManualClock: ghosts are released only when simulated time reaches releaseAtMs")
+    void manualClock_controlsRelease() {
+        SimClock.ManualClock clock = new SimClock.ManualClock(1000);
+        MyGameServer s = new MyGameServer(clock);
+        s.initDefaultLevel();
+        assertEquals(1000, s.getStartMs());
+
+        MyGameServer.Ghost second = s.getGhosts()[1];
+        int x = second.x, y = second.y;
+        for (int i = 0; i < 50; i++) s.tick();
+        assertEquals(x, second.x);
+        assertEquals(y, second.y, "Time did not move, so the second ghost must wait");
+
+        clock.advance(3000);
+        for (int i = 0; i < 10; i++) s.tick();
+        assertTrue(second.x != x || second.y != y || second.released, "The second ghost must start leaving the house");
+    }
+
+    @Test
+    @DisplayName("TickClock: every tick advances simulation time by a fixed step")
+    void tickClock_advancesPerTick() {
+        MyGameServer s = new MyGameServer(new SimClock.TickClock(200));
+        s.initDefaultLevel();
+        long start = s.nowMs();
+        for (int i = 0; i < 15; i++) s.tick();
+        assertEquals(start + 3000, s.nowMs());
+    }
+
+    @Test
+    @DisplayName("TickClock: two servers ticked the same way end in the same state")
+    void tickClock_deterministic() {
+        MyGameServer a = new MyGameServer(new SimClock.TickClock(200));
+        MyGameServer b = new MyGameServer(new SimClock.TickClock(200));
+        a.initDefaultLevel();
+        b.initDefaultLevel();
+        int[] dirs = {MyGameServer.LEFT, MyGameServer.UP, MyGameServer.RIGHT, MyGameServer.DOWN};
+        for (int i = 0; i < 300; i++) {
+            a.movePacByDir(dirs[(i / 7) % 4]);
+            b.movePacByDir(dirs[(i / 7) % 4]);
+            a.tick();
+            b.tick();
+        }
+        assertEquals(a.getScore(), b.getScore());
+        assertEquals(a.getStatus(), b.getStatus());
+        for (int i = 0; i < a.getGhosts().length; i++) {
+            assertEquals(a.getGhosts()[i].x, b.getGhosts()[i].x);
+            assertEquals(a.getGhosts()[i].y, b.getGhosts()[i].y);
+        }
+    }
+
+    @Test
+    @DisplayName("Adapter: remainTimeAsEatable and isEatable read the server clock")
+    void adapter_usesServerClock() {
+        SimClock.ManualClock clock = new SimClock.ManualClock(1000);
+        MyGameServer s = new MyGameServer(clock);
+        s.initDefaultLevel();
+        MyPacmanGameAdapter adapter = new MyPacmanGameAdapter(s);
+
+        MyGameServer.Ghost g = s.getGhosts()[0];
+        g.eatableUntilMs = 5000;
+        GhostCL cl = adapter.getGhosts(0)[0];
+
+        assertTrue(g.isEatable());
+        assertEquals(4.0, cl.remainTimeAsEatable(0), 1e-9);
+        clock.set(5000);
+        assertFalse(g.isEatable());
+        assertEquals(-1.0, cl.remainTimeAsEatable(0), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Adapter: GhostTiming predicts release and paced steps in moves")
+    void adapter_ghostTimingInMoves() {
+        MyGameServer s = new MyGameServer(new SimClock.TickClock(120));
+        MyPacmanGameAdapter adapter = new MyPacmanGameAdapter(s);
+        adapter.init(4, null, true, 7L, 1.0, 200, -1);
+        assertEquals(120, adapter.getMsPerMove(), "The TickClock step wins over dt");
+
+        GhostTiming second = (GhostTiming) adapter.getGhosts(0)[1];
+        assertEquals(25, second.movesUntilNextStep(0), "3000 ms release delay at 120 ms per move");
+        assertEquals(1, second.movesPerStep(0));
+
+        MyGameServer.Ghost g = s.getGhosts()[0];
+        GhostTiming first = (GhostTiming) adapter.getGhosts(0)[0];
+        while (!g.released) adapter.move(PacmanGame.STAY);
+        assertEquals(2, first.movesPerStep(0), "180 ms steps at 120 ms per move");
+
+        for (int step = 0; step < 5; step++) {
+            int wait = first.movesUntilNextStep(0);
+            long last = g.lastMoveMs;
+            for (int i = 1; i < wait; i++) adapter.move(PacmanGame.STAY);
+            assertEquals(last, g.lastMoveMs, "No step before the predicted move");
+            adapter.move(PacmanGame.STAY);
+            assertNotEquals(last, g.lastMoveMs, "Step on the predicted move");
+        }
+
+        MyPacmanGameAdapter onSystemClock = new MyPacmanGameAdapter(new MyGameServer());
+        assertEquals(MyPacmanGameAdapter.DEFAULT_MS_PER_MOVE, onSystemClock.getMsPerMove());
+        onSystemClock.init(4, null, true, 7L, 1.0, 200, -1);
+        assertEquals(200, onSystemClock.getMsPerMove());
+    }
+}
@@ -0,0 +1,43 @@
+package assignments;
+
+import MyGame.adapters.MyPacmanGameAdapter;
+import MyGame.server.MyGameServer;
+import MyGame.server.SimClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyGameServerSeedTest {
+
+    @Test
+    @DisplayName("initDefaultLevel(seed): same seed -> same ghost walk, different seed -> different walk")
+    void seed_controlsGhostWalk() {
+        String a = ghostTrace(7), b = ghostTrace(7), c = ghostTrace(8);
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    @DisplayName("adapter.init: passes the seed to the server")
+    void adapter_passesSeed() {
+        MyGameServer s = new MyGameServer();
+        new MyPacmanGameAdapter(s).init(0, null, true, 31, 1.0, 200, -1);
+        assertEquals(31, s.getSeed());
+
+        s.initDefaultLevel();
+        assertEquals(MyGameServer.DEFAULT_SEED, s.getSeed());
+    }
+
+    /** Ticks a server without moving Pac-Man and records every ghost position. */
+    private static String ghostTrace(long seed) {
+        MyGameServer s = new MyGameServer(new SimClock.TickClock(200));
+        s.initDefaultLevel(seed);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200 && s.getStatus() == MyGameServer.PLAY; i++) {
+            s.tick();
+            for (MyGameServer.Ghost g : s.getGhosts()) sb.append(g.x).append(',').append(g.y).append(';');
+        }
+        return sb.toString();
+    }
+}
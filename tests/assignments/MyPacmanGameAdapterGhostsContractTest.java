@@ -79,4 +79,40 @@ public class MyPacmanGameAdapterGhostsContractTest {
                     "Ghost status must be INIT or PLAY, got: " + st);
         }
     }
+
+    @Test
+    @DisplayName("getGhosts: same array across ticks, wrappers follow the live ghosts")
+    void getGhosts_cachedAcrossTicks() {
+        MyGameServer server = new MyGameServer();
+        server.initDefaultLevel();
+        MyPacmanGameAdapter adapter = new MyPacmanGameAdapter(server);
+
+        GhostCL[] first = adapter.getGhosts(0);
+        for (int i = 0; i < 30; i++) {
+            server.tick();
+            GhostCL[] ghosts = adapter.getGhosts(0);
+            assertSame(first, ghosts, "getGhosts must reuse its array while the ghosts are the same");
+
+            MyGameServer.Ghost[] live = server.getGhosts();
+            for (int k = 0; k < live.length; k++) {
+                assertEquals(live[k].x + "," + live[k].y, ghosts[k].getPos(0));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("getGhosts: a new level rebuilds the array for the new ghosts")
+    void getGhosts_rebuiltOnNewLevel() {
+        MyGameServer server = new MyGameServer();
+        server.initDefaultLevel();
+        MyPacmanGameAdapter adapter = new MyPacmanGameAdapter(server);
+
+        GhostCL[] before = adapter.getGhosts(0);
+        server.initDefaultLevel(2);
+        GhostCL[] after = adapter.getGhosts(0);
+
+        assertNotSame(before, after);
+        assertEquals(server.getGhosts().length, after.length);
+        assertSame(after, adapter.getGhosts(0));
+    }
 }
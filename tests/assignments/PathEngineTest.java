@@ -0,0 +1,155 @@
+package assignments;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property tests for the pluggable path engines: every engine must return a valid path
+ * with the same length as the built-in BFS of Map.shortestPath.
+ */
+public class PathEngineTest {
+
+    private static final int WALL = 1;
+
+    @Test
+    @DisplayName("A*: same path lengths as BFS on random cyclic and non-cyclic mazes")
+    void aStar_matchesBfs() {
+        checkAgainstBfs(AStarPathEngine::new, 31);
+    }
+
+    @Test
+    @DisplayName("bidirectional BFS: same path lengths as BFS on random cyclic and non-cyclic mazes")
+    void bidirectional_matchesBfs() {
+        checkAgainstBfs(BidirectionalBfsPathEngine::new, 32);
+    }
+
+    @Test
+    @DisplayName("jump point search: same path lengths as BFS on random cyclic and non-cyclic mazes")
+    void jumpPoint_matchesBfs() {
+        checkAgainstBfs(JumpPointPathEngine::new, 33);
+    }
+
+    @Test
+    @DisplayName("corridor graph: same path lengths as BFS on random cyclic and non-cyclic mazes")
+    void corridor_matchesBfs() {
+        checkAgainstBfs(CorridorPathEngine::new, 35);
+    }
+
+    @Test
+    @DisplayName("jump point search: same path lengths as BFS on open rooms and on corridor mazes")
+    void jumpPoint_openAndCorridorMaps() {
+        Random rnd = new Random(34);
+        PathEngine jps = new JumpPointPathEngine();
+        for (int t = 0; t < 40; t++) {
+            int w = 3 + rnd.nextInt(40), h = 3 + rnd.nextInt(40);
+            int[][] arr = (t % 2 == 0) ? BfsEngineTest.randomMaze(rnd, w, h, 0.03) : corridors(rnd, w, h);
+            for (boolean cyclic : new boolean[]{true, false}) {
+                Map bfs = new Map(arr), fast = new Map(arr);
+                bfs.setCyclic(cyclic);
+                fast.setCyclic(cyclic);
+                fast.setPathEngine(jps);
+                for (int q = 0; q < 8; q++) {
+                    Pixel2D a = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+                    Pixel2D b = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+                    Pixel2D[] expected = bfs.shortestPath(a, b, WALL);
+                    Pixel2D[] actual = fast.shortestPath(a, b, WALL);
+                    if (expected == null) {
+                        assertNull(actual);
+                        continue;
+                    }
+                    assertEquals(expected.length, actual.length, "map " + t + " " + a + " -> " + b);
+                    assertValidPath(fast, actual, a, b);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A*: wrap-aware heuristic never overestimates across the border")
+    void aStar_heuristicAcrossBorder() {
+        assertEquals(2, AStarPathEngine.heuristic(0, 0, 9, 9, 10, 10, true));
+        assertEquals(18, AStarPathEngine.heuristic(0, 0, 9, 9, 10, 10, false));
+
+        Map map = new Map(10, 3, 0);
+        map.setPathEngine(new AStarPathEngine());
+        Pixel2D[] path = map.shortestPath(new Index2D(0, 1), new Index2D(9, 1), WALL);
+        assertEquals(2, path.length, "One step across the border");
+    }
+
+    @Test
+    @DisplayName("engines: unreachable goal gives null, start == goal gives a single cell")
+    void engines_edgeCases() {
+        for (PathEngine e : new PathEngine[]{new AStarPathEngine(), new BidirectionalBfsPathEngine(),
+                new JumpPointPathEngine(), new CorridorPathEngine()}) {
+            Map map = new Map(5, 5, 0);
+            map.setCyclic(false);
+            for (int y = 0; y < 5; y++) map.setPixel(2, y, WALL);
+            map.setPathEngine(e);
+            assertNull(map.shortestPath(new Index2D(0, 0), new Index2D(4, 4), WALL));
+            assertEquals(1, map.shortestPath(new Index2D(1, 1), new Index2D(1, 1), WALL).length);
+            assertSame(e, map.getPathEngine());
+        }
+    }
+
+    /* ================= helpers ================= */
+
+    static void checkAgainstBfs(Supplier<PathEngine> engine, long seed) {
+        Random rnd = new Random(seed);
+        PathEngine e = engine.get();   // one engine reused across maps of different sizes
+        for (int t = 0; t < 60; t++) {
+            int w = 2 + rnd.nextInt(30), h = 2 + rnd.nextInt(30);
+            int[][] arr = BfsEngineTest.randomMaze(rnd, w, h, rnd.nextDouble() * 0.4);
+            Map bfs = new Map(arr), fast = new Map(arr);
+            boolean cyclic = rnd.nextBoolean();
+            bfs.setCyclic(cyclic);
+            fast.setCyclic(cyclic);
+            fast.setPathEngine(e);
+
+            for (int q = 0; q < 10; q++) {
+                Pixel2D a = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+                Pixel2D b = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+                Pixel2D[] expected = bfs.shortestPath(a, b, WALL);
+                Pixel2D[] actual = fast.shortestPath(a, b, WALL);
+                String where = "map " + t + " " + a + " -> " + b;
+                if (expected == null) {
+                    assertNull(actual, where);
+                    continue;
+                }
+                assertNotNull(actual, where);
+                assertEquals(expected.length, actual.length, where);
+                assertValidPath(fast, actual, a, b);
+            }
+        }
+    }
+
+    /** Grid of corridors: walls on every odd column, with a few random gaps. */
+    static int[][] corridors(Random rnd, int w, int h) {
+        int[][] arr = new int[w][h];
+        for (int x = 1; x < w; x += 2)
+            for (int y = 0; y < h; y++)
+                arr[x][y] = rnd.nextInt(6) == 0 ? 0 : WALL;
+        return arr;
+    }
+
+    static void assertValidPath(Map map, Pixel2D[] path, Pixel2D a, Pixel2D b) {
+        int w = map.getWidth(), h = map.getHeight();
+        assertEquals(a, path[0]);
+        assertEquals(b, path[path.length - 1]);
+        for (int i = 0; i < path.length; i++) {
+            assertNotEquals(WALL, map.getPixel(path[i]), "Path crosses a wall");
+            if (i == 0) continue;
+            int dx = Math.abs(path[i].getX() - path[i - 1].getX());
+            int dy = Math.abs(path[i].getY() - path[i - 1].getY());
+            if (map.isCyclic()) {
+                dx = Math.min(dx, w - dx);
+                dy = Math.min(dy, h - dy);
+            }
+            assertEquals(1, dx + dy, "Consecutive path cells must be neighbors");
+        }
+    }
+}
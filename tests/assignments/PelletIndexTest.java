@@ -0,0 +1,109 @@
+package assignments;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-color pellet index used by Ex3Algo.
+ */
+public class PelletIndexTest {
+
+    private static final int WALL = 1, PINK = 2, GREEN = 3;
+
+    @Test
+    @DisplayName("apply: random eat/place sequences keep the index equal to a rebuild")
+    void apply_matchesRebuild() {
+        Random rnd = new Random(15);
+        for (int t = 0; t < 20; t++) {
+            int w = 2 + rnd.nextInt(15), h = 2 + rnd.nextInt(15);
+            int[][] board = randomBoard(rnd, w, h);
+            PelletIndex idx = new PelletIndex(PINK, GREEN);
+            idx.rebuild(board);
+
+            for (int step = 0; step < 200; step++) {
+                int x = rnd.nextInt(w), y = rnd.nextInt(h);
+                int v = rnd.nextInt(4);
+                idx.apply(x * h + y, board[x][y], v);
+                board[x][y] = v;
+            }
+
+            PelletIndex fresh = new PelletIndex(PINK, GREEN);
+            fresh.rebuild(board);
+            for (int color : new int[]{PINK, GREEN}) {
+                assertEquals(fresh.size(color), idx.size(color));
+                assertArrayEquals(sortedCells(fresh, color), sortedCells(idx, color));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("nearest: same cell as a full board scan, ties broken in board order")
+    void nearest_matchesScan() {
+        Random rnd = new Random(16);
+        for (int t = 0; t < 30; t++) {
+            int w = 2 + rnd.nextInt(15), h = 2 + rnd.nextInt(15);
+            int[][] board = randomBoard(rnd, w, h);
+            Map map = new Map(board);
+            map.setCyclic(rnd.nextBoolean());
+            PelletIndex idx = new PelletIndex(PINK, GREEN);
+            idx.rebuild(board);
+
+            Pixel2D from = new Index2D(rnd.nextInt(w), rnd.nextInt(h));
+            if (map.getPixel(from) == WALL) continue;
+            Map2D dist = map.allDistance(from, WALL);
+
+            for (int color : new int[]{PINK, GREEN}) {
+                assertEquals(scanNearest(board, dist, color), idx.nearest(color, dist), "map " + t);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("size / cell / nearest: reject colors that are not indexed")
+    void unknownColor_rejected() {
+        PelletIndex idx = new PelletIndex(PINK);
+        idx.rebuild(new int[][]{{PINK, 0}, {0, PINK}});
+        assertEquals(2, idx.size(PINK));
+        assertThrows(RuntimeException.class, () -> idx.size(GREEN));
+        assertThrows(RuntimeException.class, () -> idx.cell(PINK, 2));
+    }
+
+    /* ================= helpers ================= */
+
+    private static int[][] randomBoard(Random rnd, int w, int h) {
+        int[][] b = new int[w][h];
+        for (int x = 0; x < w; x++)
+            for (int y = 0; y < h; y++) {
+                int r = rnd.nextInt(10);
+                b[x][y] = r < 2 ? WALL : r < 6 ? PINK : r < 7 ? GREEN : 0;
+            }
+        return b;
+    }
+
+    private static int[] sortedCells(PelletIndex idx, int color) {
+        int[] c = new int[idx.size(color)];
+        for (int i = 0; i < c.length; i++) c[i] = idx.cell(color, i);
+        Arrays.sort(c);
+        return c;
+    }
+
+    /** The former Ex3Algo.closest: first minimum in x-then-y order. */
+    private static int scanNearest(int[][] board, Map2D dist, int color) {
+        int h = board[0].length, best = -1, min = Integer.MAX_VALUE;
+        for (int i = 0; i < board.length; i++)
+            for (int j = 0; j < h; j++)
+                if (board[i][j] == color) {
+                    int d = dist.getPixel(i, j);
+                    if (d != -1 && d < min) {
+                        min = d;
+                        best = i * h + j;
+                    }
+                }
+        return best;
+    }
+}
@@ -0,0 +1,92 @@
+package assignments;
+
+import MyGame.adapters.MyPacmanGameAdapter;
+import MyGame.server.MyGameServer;
+import MyGame.server.SimClock;
+import exe.ex3.game.Game;
+import exe.ex3.game.GhostCL;
+import exe.ex3.game.PacmanGame;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the packed position API of the adapter and its use by Ex3Algo.
+ */
+public class PositionSourceTest {
+
+    @Test
+    @DisplayName("adapter: packed positions of Pac-Man and ghosts are Cells cells of the board and match getPos")
+    void adapter_packedMatchesString() {
+        MyGameServer server = new MyGameServer(new SimClock.TickClock(200));
+        server.initDefaultLevel(3);
+        MyPacmanGameAdapter adapter = new MyPacmanGameAdapter(server);
+        int h = adapter.getGame(0)[0].length;
+
+        for (int i = 0; i < 40; i++) {
+            assertEquals(adapter.getPos(0), adapter.pixelPos(0).toString());
+            int pac = adapter.packedPos(0);
+            assertEquals(adapter.getPos(0), Cells.x(pac, h) + "," + Cells.y(pac, h));
+            for (GhostCL g : adapter.getGhosts(0)) {
+                assertTrue(g instanceof PositionSource);
+                int p = ((PositionSource) g).packedPos(0);
+                assertEquals(g.getPos(0), Cells.x(p, h) + "," + Cells.y(p, h));
+                assertEquals(g.getPos(0), ((PositionSource) g).pixelPos(0).toString());
+            }
+            adapter.move(i % 4 < 2 ? Game.LEFT : Game.UP);
+        }
+    }
+
+    @Test
+    @DisplayName("Ex3Algo: same moves through PositionSource and through string parsing")
+    void algo_sameMovesWithAndWithoutExtension() {
+        MyGameServer a = new MyGameServer(new SimClock.TickClock(120));
+        MyGameServer b = new MyGameServer(new SimClock.TickClock(120));
+        a.initDefaultLevel(9);
+        b.initDefaultLevel(9);
+        MyPacmanGameAdapter fast = new MyPacmanGameAdapter(a);
+        PacmanGame plain = stringOnly(new MyPacmanGameAdapter(b));
+
+        Ex3Algo algoA = new Ex3Algo(), algoB = new Ex3Algo();
+        for (int i = 0; i < 200 && fast.getStatus() == PacmanGame.PLAY; i++) {
+            int da = algoA.move(fast), db = algoB.move(plain);
+            assertEquals(da, db, "Different move at step " + i);
+            fast.move(da);
+            plain.move(db);
+        }
+    }
+
+    /* ================= helpers ================= */
+
+    /** Hides PositionSource: the game and its ghosts only expose the engine interfaces (and GhostTiming). */
+    private static PacmanGame stringOnly(PacmanGame game) {
+        return (PacmanGame) Proxy.newProxyInstance(PacmanGame.class.getClassLoader(),
+                new Class<?>[]{PacmanGame.class}, (proxy, m, args) -> {
+                    Object r = invoke(game, m, args);
+                    if (!(r instanceof GhostCL[])) return r;
+                    GhostCL[] src = (GhostCL[]) r;
+                    GhostCL[] out = new GhostCL[src.length];
+                    for (int i = 0; i < src.length; i++) {
+                        GhostCL g = src[i];
+                        Class<?>[] api = (g instanceof GhostTiming)
+                                ? new Class<?>[]{GhostCL.class, GhostTiming.class} : new Class<?>[]{GhostCL.class};
+                        out[i] = (GhostCL) Proxy.newProxyInstance(GhostCL.class.getClassLoader(),
+                                api, (p2, m2, a2) -> invoke(g, m2, a2));
+                    }
+                    return out;
+                });
+    }
+
+    private static Object invoke(Object target, Method m, Object[] args) throws Throwable {
+        try {
+            return m.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package assignments;
+
+import MyGame.server.LevelBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the wall-topology cache behind Map.distanceTable.
+ */
+public class TopologyCacheTest {
+
+    private static final int WALL = 1;
+
+    @Test
+    @DisplayName("table: same walls share one table, pellets and other values are ignored")
+    void table_sharedForSameWalls() {
+        TopologyCache cache = new TopologyCache(4);
+        int[][] board = LevelBuilder.buildDefault(WALL, 3, 5).board;
+
+        DistanceTable a = cache.table(new Map(board), WALL);
+        Map eaten = new Map(board);
+        eaten.fill(firstCellWith(eaten, 3), 0);
+        DistanceTable b = cache.table(eaten, WALL);
+
+        assertNotNull(a);
+        assertSame(a, b);
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+    }
+
+    @Test
+    @DisplayName("table: walls, cyclic flag and obstacle color are all part of the key")
+    void table_keyFields() {
+        TopologyCache cache = new TopologyCache(8);
+        Map map = new Map(6, 4, 0);
+        map.setPixel(2, 1, WALL);
+        DistanceTable base = cache.table(map, WALL);
+
+        map.setCyclic(false);
+        assertNotSame(base, cache.table(map, WALL));
+        map.setCyclic(true);
+
+        assertNotSame(base, cache.table(map, 7));
+
+        map.setPixel(3, 1, WALL);
+        assertNotSame(base, cache.table(map, WALL));
+
+        map.setPixel(3, 1, 0);
+        assertSame(base, cache.table(map, WALL));
+    }
+
+    @Test
+    @DisplayName("table: bounded LRU evicts the least recently used layout")
+    void table_lruEviction() {
+        TopologyCache cache = new TopologyCache(2);
+        Map m0 = new Map(4, 4, 0);
+        Map m1 = new Map(4, 4, 0);
+        m1.setPixel(1, 1, WALL);
+        Map m2 = new Map(4, 4, 0);
+        m2.setPixel(2, 2, WALL);
+
+        DistanceTable t0 = cache.table(m0, WALL);
+        cache.table(m1, WALL);
+        assertSame(t0, cache.table(m0, WALL)); // m0 is now the most recent
+        cache.table(m2, WALL);                  // evicts m1
+
+        assertEquals(2, cache.size());
+        assertSame(t0, cache.table(m0, WALL));
+        int misses = cache.misses();
+        cache.table(m1, WALL);
+        assertEquals(misses + 1, cache.misses(), "m1 must have been evicted");
+    }
+
+    @Test
+    @DisplayName("Map.distanceTable: two maps over the same maze get the same shared table")
+    void map_usesSharedCache() {
+        int[][] board = LevelBuilder.buildDefault(WALL, 3, 5).board;
+        Map a = new Map(board);
+        Map b = new Map(board);
+        assertSame(a.distanceTable(WALL), b.distanceTable(WALL));
+    }
+
+    private static Pixel2D firstCellWith(Map map, int v) {
+        for (int x = 0; x < map.getWidth(); x++)
+            for (int y = 0; y < map.getHeight(); y++)
+                if (map.getPixel(x, y) == v) return new Index2D(x, y);
+        throw new AssertionError("No cell with value " + v);
+    }
+}